@@ -0,0 +1,6 @@
+CREATE TABLE transaction_idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    wallet_id UUID NOT NULL,
+    balance NUMERIC(18, 2) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,3 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_wallet_created
+    ON transactions (wallet_id, created_at DESC, id DESC)
+    INCLUDE (operation_type, amount, transfer_id);
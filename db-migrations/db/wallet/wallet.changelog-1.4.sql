@@ -0,0 +1,6 @@
+CREATE TABLE wallet_reconciliation_checkpoints (
+    wallet_id UUID PRIMARY KEY,
+    balance NUMERIC(18, 2) NOT NULL,
+    checkpoint_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
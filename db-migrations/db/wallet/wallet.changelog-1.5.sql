@@ -0,0 +1,49 @@
+-- Rebuild transactions as a table range-partitioned by created_at, one partition per month (UTC).
+-- The primary key has to include the partition key. Rows outside every monthly partition land in
+-- transactions_default, which the application keeps empty by creating partitions ahead of time.
+ALTER TABLE transactions RENAME TO transactions_legacy;
+ALTER INDEX idx_transactions_wallet_created RENAME TO idx_transactions_legacy_wallet_created;
+ALTER TABLE transactions_legacy RENAME CONSTRAINT operation_type_check TO operation_type_check_legacy;
+
+CREATE TABLE transactions (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    wallet_id UUID NOT NULL,
+    operation_type VARCHAR(20) NOT NULL,
+    amount NUMERIC(18, 2) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    transfer_id UUID,
+    CONSTRAINT transactions_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT operation_type_check CHECK (operation_type IN ('DEPOSIT', 'WITHDRAW'))
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+    last_month TIMESTAMP := date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', COALESCE(min(created_at), now()) AT TIME ZONE 'UTC')
+    INTO month_start
+    FROM transactions_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+            'transactions_p' || to_char(month_start, 'YYYYMM'),
+            month_start AT TIME ZONE 'UTC',
+            (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (id, wallet_id, operation_type, amount, created_at, transfer_id)
+SELECT id, wallet_id, operation_type, amount, created_at, transfer_id
+FROM transactions_legacy;
+
+DROP TABLE transactions_legacy;
+
+-- Created on the parent, the index is cascaded to every current and future partition.
+CREATE INDEX idx_transactions_wallet_created
+    ON transactions (wallet_id, created_at DESC, id DESC)
+    INCLUDE (operation_type, amount, transfer_id);
@@ -0,0 +1,4 @@
+-- Serves exports across all wallets, which read in (created_at, id) order.
+-- Partitioned tables don't support CREATE INDEX CONCURRENTLY, so this locks writes while it builds.
+CREATE INDEX IF NOT EXISTS idx_transactions_created
+    ON transactions (created_at, id);
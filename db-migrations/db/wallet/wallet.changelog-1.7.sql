@@ -0,0 +1,5 @@
+-- What each key was used for, so a replay with a different payload can be rejected.
+-- Keys stored before this change keep NULLs and are only checked against their wallet.
+ALTER TABLE transaction_idempotency_keys
+    ADD COLUMN operation_type VARCHAR(20),
+    ADD COLUMN amount NUMERIC(18, 2);
@@ -0,0 +1,3 @@
+-- Serves the retention cleanup, which deletes the oldest keys in batches.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transaction_idempotency_keys_created
+    ON transaction_idempotency_keys (created_at);
@@ -0,0 +1,86 @@
+package com.jefferson.wallet.benchmarks;
+
+import com.jefferson.wallet.model.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balance operations of a transaction (compare, add, subtract) on NUMERIC(18, 2)-shaped values:
+ * BigDecimal as the service used to do them, {@link Money} as it does now, and bare long cents as a
+ * floor. Compare gc.alloc.rate.norm (bytes per operation) from the GC profiler as well as time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BalanceArithmeticBenchmark {
+
+    @Param({"1000.00", "9999999999999999.99"})
+    private String balanceValue;
+
+    private BigDecimal balance;
+
+    private BigDecimal amount;
+
+    private Money balanceMoney;
+
+    private Money amountMoney;
+
+    private long balanceCents;
+
+    private long amountCents;
+
+    @Setup
+    public void setUp() {
+        balance = new BigDecimal(balanceValue);
+        amount = new BigDecimal("200.50");
+        balanceMoney = Money.of(balance);
+        amountMoney = Money.of(amount);
+        balanceCents = balance.movePointRight(2).longValueExact();
+        amountCents = amount.movePointRight(2).longValueExact();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalDeposit() {
+        return balance.add(amount);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalWithdraw() {
+        return balance.compareTo(amount) < 0 ? balance : balance.subtract(amount);
+    }
+
+    @Benchmark
+    public BigDecimal parseAmount() {
+        return new BigDecimal("200.50");
+    }
+
+    @Benchmark
+    public Money moneyDeposit() {
+        return balanceMoney.plus(amountMoney);
+    }
+
+    @Benchmark
+    public Money moneyWithdraw() {
+        return balanceMoney.isLessThan(amountMoney) ? balanceMoney : balanceMoney.minus(amountMoney);
+    }
+
+    /**
+     * What PaymentServiceImpl does per request: convert the BigDecimal request amount once.
+     */
+    @Benchmark
+    public Money moneyFromRequestAmount() {
+        return Money.of(amount);
+    }
+
+    @Benchmark
+    public void longCentsBaseline(Blackhole blackhole) {
+        blackhole.consume(balanceCents + amountCents);
+        blackhole.consume(balanceCents < amountCents ? balanceCents : balanceCents - amountCents);
+    }
+}
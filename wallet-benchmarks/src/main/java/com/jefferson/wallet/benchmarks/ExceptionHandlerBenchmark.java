@@ -0,0 +1,90 @@
+package com.jefferson.wallet.benchmarks;
+
+import com.jefferson.wallet.controller.WalletController;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.exceptions.ErrorResponse;
+import com.jefferson.wallet.exceptions.GlobalExceptionHandler;
+import com.jefferson.wallet.exceptions.InsufficientFundsException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import com.jefferson.wallet.service.TransactionOutcome;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a failed request from the exception onwards: creating the (stackless) business exception and
+ * building the error response in {@link GlobalExceptionHandler}, against returning a
+ * {@link TransactionOutcome} rejection the way the payment endpoint does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+
+    private UUID walletId;
+
+    private BigDecimal amount;
+
+    private HttpMessageNotReadableException parseException;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        walletId = UUID.randomUUID();
+        amount = new BigDecimal("200.50");
+        HttpInputMessage inputMessage = new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return HttpHeaders.EMPTY;
+            }
+        };
+        parseException = new HttpMessageNotReadableException("JSON parse error: Unexpected character",
+                new IllegalArgumentException("Invalid UUID string: 42"), inputMessage);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> walletNotFound() {
+        return handler.handleWalletNotFoundException(
+                new WalletNotFoundException("Wallet not found for id: " + walletId));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> insufficientFunds() {
+        return handler.handleInsufficientException(
+                new InsufficientFundsException("Insufficient funds for wallet with id: " + walletId +
+                        ". Transaction amount: 200.50. Transaction type: WITHDRAW"));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> insufficientFundsOutcome() {
+        TransactionOutcome outcome = new TransactionOutcome.InsufficientFunds(walletId, amount, OperationType.WITHDRAW);
+        if (outcome instanceof TransactionOutcome.Rejected rejected) {
+            return ResponseEntity.status(WalletController.statusOf(rejected)).body(Map.of("Error", rejected.message()));
+        }
+        return ResponseEntity.ok(outcome);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> parseError() {
+        return handler.handleParseErrors(parseException);
+    }
+}
@@ -0,0 +1,69 @@
+package com.jefferson.wallet.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.enums.OperationType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request parsing and response writing as the controller does them. The mapper is built the way Spring
+ * Boot builds its own (JavaTimeModule, no timestamps as numbers), readers and writers are reused.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter balanceWriter;
+
+    private ObjectReader requestReader;
+
+    private ObjectWriter requestWriter;
+
+    private BalanceDto balanceDto;
+
+    private TransactionRequest transactionRequest;
+
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        balanceWriter = objectMapper.writerFor(BalanceDto.class);
+        requestReader = objectMapper.readerFor(TransactionRequest.class);
+        requestWriter = objectMapper.writerFor(TransactionRequest.class);
+
+        UUID walletId = UUID.randomUUID();
+        balanceDto = BalanceDto.buildBalanceDto(walletId, new BigDecimal("799.50"));
+        transactionRequest = TransactionRequest.buildTransactionRequest(walletId, OperationType.WITHDRAW,
+                new BigDecimal("200.50"));
+        requestJson = requestWriter.writeValueAsBytes(transactionRequest);
+    }
+
+    @Benchmark
+    public byte[] writeBalanceDto() throws IOException {
+        return balanceWriter.writeValueAsBytes(balanceDto);
+    }
+
+    @Benchmark
+    public byte[] writeTransactionRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(transactionRequest);
+    }
+
+    @Benchmark
+    public TransactionRequest readTransactionRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+}
@@ -0,0 +1,68 @@
+package com.jefferson.wallet.benchmarks;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.model.Money;
+import com.jefferson.wallet.model.Wallet;
+import com.jefferson.wallet.service.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaymentServiceImpl#processTransaction} with the JPA strategy over in-memory repositories:
+ * idempotency lookup, retry executor, transaction template, balance check and update, balance cache.
+ * Everything a request pays for on top of the database round trips.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PaymentProcessingBenchmark {
+
+    @Param({"DEPOSIT", "WITHDRAW"})
+    private OperationType operationType;
+
+    private PaymentServiceImpl paymentService;
+
+    private TransactionRequest request;
+
+    @Setup
+    public void setUp() {
+        Wallet wallet = new Wallet(UUID.randomUUID(), Money.of(new BigDecimal("1000000000000000.00")), true,
+                Instant.now(), 0L);
+
+        PaymentServiceProps paymentProps = new PaymentServiceProps();
+        paymentProps.setMaxRetry(5);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+
+        paymentService = new PaymentServiceImpl(
+                Stubs.transactionRepository(),
+                Stubs.walletRepository(wallet),
+                null,
+                new ContentionAwareRetryExecutor(paymentProps, paymentMetrics),
+                Stubs.transactionManager(),
+                new BalanceCache(new BalanceCacheProps()),
+                new BalanceChangePublisher(new BalanceStreamProps(), null, meterRegistry),
+                new IdempotencyIndex(new IdempotencyProps()),
+                null,
+                paymentMetrics,
+                new ActiveWalletFilter(new WalletMembershipProps(), null, null, meterRegistry),
+                paymentProps);
+
+        request = TransactionRequest.buildTransactionRequest(wallet.getId(), operationType, new BigDecimal("1.25"));
+    }
+
+    @Benchmark
+    public BalanceDto processTransaction() {
+        return paymentService.processTransaction(request);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jefferson.wallet.benchmarks;
+
+import com.jefferson.wallet.model.Wallet;
+import com.jefferson.wallet.repository.TransactionRepository;
+import com.jefferson.wallet.repository.WalletRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+/**
+ * In-memory stand-ins for the Spring Data repositories and the transaction manager, so benchmarks
+ * measure the service code and not JDBC. Plain proxies rather than mocks: no recording, no matchers.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static WalletRepository walletRepository(Wallet wallet) {
+        return (WalletRepository) Proxy.newProxyInstance(Stubs.class.getClassLoader(),
+                new Class<?>[]{WalletRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findActiveById", "findActiveByIdForUpdate", "findById" -> Optional.of(wallet);
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "WalletRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static TransactionRepository transactionRepository() {
+        return (TransactionRepository) Proxy.newProxyInstance(Stubs.class.getClassLoader(),
+                new Class<?>[]{TransactionRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TransactionRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static PlatformTransactionManager transactionManager() {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+#!/bin/sh
+# Runs the same open-loop load against the wallet service twice, on platform threads and on
+# virtual threads (with the JDBC bulkhead), and prints both latency reports.
+#
+# Needs a migrated Postgres reachable through SPRING_DATASOURCE_URL / POSTGRES_USER / POSTGRES_PASSWORD,
+# a Java 21+ "java" on PATH (or JAVA_HOME), the wallet exec jar (mvn package in ../wallet)
+# and target/loadgen.jar (mvn package here). Extra arguments are passed to the load generator.
+set -e
+
+cd "$(dirname "$0")"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+WALLET_JAR=../wallet/target/wallet-1.0.0-exec.jar
+PORT=${PORT:-8080}
+LOADGEN_ARGS=${*:---rate=2000 --duration-s=60 --warmup-s=15 --hot-ratio=0.2}
+
+run_mode() {
+    mode=$1
+    virtual=$2
+    echo "=== $mode threads ==="
+    "$JAVA" -jar "$WALLET_JAR" --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$virtual" > "target/wallet-$mode.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null' EXIT
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "wallet failed to start, see target/wallet-$mode.log"; exit 1; }
+        sleep 1
+    done
+    # shellcheck disable=SC2086
+    "$JAVA" -jar target/loadgen.jar --base-url="http://localhost:$PORT/api/v1" $LOADGEN_ARGS
+    curl -s "http://localhost:$PORT/actuator/prometheus" | grep -E '^hikaricp_connections_(pending|acquire_seconds_max)' || true
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+mkdir -p target
+run_mode platform false
+run_mode virtual true
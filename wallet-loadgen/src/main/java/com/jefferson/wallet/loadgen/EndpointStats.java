@@ -0,0 +1,99 @@
+package com.jefferson.wallet.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters of one operation. Latency is measured from the request's
+ * intended start on the arrival schedule, not from when it was actually sent, so a stalled server is
+ * charged for the requests queued behind it (no coordinated omission).
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Operation operation;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+    private final LongAdder success = new LongAdder();
+
+    private final LongAdder conflict = new LongAdder();
+
+    private final LongAdder unprocessable = new LongAdder();
+
+    private final LongAdder serverError = new LongAdder();
+
+    private final LongAdder otherStatus = new LongAdder();
+
+    private final LongAdder ioError = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    public EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public void record(int status, long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (status >= 200 && status < 300) {
+            success.increment();
+        }
+        else if (status == 409) {
+            conflict.increment();
+        }
+        else if (status == 422) {
+            unprocessable.increment();
+        }
+        else if (status >= 500) {
+            serverError.increment();
+        }
+        else {
+            otherStatus.increment();
+        }
+    }
+
+    public void recordIoError(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        ioError.increment();
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public synchronized Histogram snapshot() {
+        total.add(recorder.getIntervalHistogram());
+        return total.copy();
+    }
+
+    public static void printHeader(PrintStream out) {
+        out.printf("%-9s %9s %9s %9s %9s %9s %9s %9s | %8s %6s %6s %6s %6s %6s %7s%n",
+                "endpoint", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "p99.99ms", "max ms",
+                "2xx", "409", "422", "5xx", "other", "io", "dropped");
+    }
+
+    public void print(PrintStream out) {
+        Histogram histogram = snapshot();
+        out.printf("%-9s %9d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f | %8d %6d %6d %6d %6d %6d %7d%n",
+                operation.name().toLowerCase(), histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getValueAtPercentile(99.99)),
+                millis(histogram.getMaxValue()),
+                success.sum(), conflict.sum(), unprocessable.sum(), serverError.sum(),
+                otherStatus.sum(), ioError.sum(), dropped.sum());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
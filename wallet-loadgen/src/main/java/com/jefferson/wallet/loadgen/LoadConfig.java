@@ -0,0 +1,99 @@
+package com.jefferson.wallet.loadgen;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, all as {@code --name=value}.
+ *
+ * @param rate        intended requests per second; requests are started on this schedule whether or not
+ *                    earlier ones have finished
+ * @param hotRatio    share of balance/deposit/withdraw requests sent to one of the {@code hotWallets}
+ * @param maxInFlight requests started but not finished; above it new requests are counted as dropped
+ */
+public record LoadConfig(URI baseUrl,
+                         int rate,
+                         int durationSeconds,
+                         int warmupSeconds,
+                         int wallets,
+                         int hotWallets,
+                         double hotRatio,
+                         OperationMix mix,
+                         BigDecimal initialBalance,
+                         BigDecimal amount,
+                         int maxInFlight,
+                         int connections,
+                         long seed) {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("base-url", "http://localhost:8080/api/v1"),
+            Map.entry("rate", "500"),
+            Map.entry("duration-s", "60"),
+            Map.entry("warmup-s", "10"),
+            Map.entry("wallets", "1000"),
+            Map.entry("hot-wallets", "1"),
+            Map.entry("hot-ratio", "0.0"),
+            Map.entry("mix", "create=1,balance=49,deposit=30,withdraw=20"),
+            Map.entry("initial-balance", "1000.00"),
+            Map.entry("amount", "1.00"),
+            Map.entry("max-in-flight", "5000"),
+            Map.entry("connections", "64"),
+            Map.entry("seed", "42"));
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            options.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadConfig config = new LoadConfig(
+                URI.create(options.get("base-url").replaceAll("/+$", "")),
+                Integer.parseInt(options.get("rate")),
+                Integer.parseInt(options.get("duration-s")),
+                Integer.parseInt(options.get("warmup-s")),
+                Integer.parseInt(options.get("wallets")),
+                Integer.parseInt(options.get("hot-wallets")),
+                Double.parseDouble(options.get("hot-ratio")),
+                OperationMix.parse(options.get("mix")),
+                new BigDecimal(options.get("initial-balance")),
+                new BigDecimal(options.get("amount")),
+                Integer.parseInt(options.get("max-in-flight")),
+                Integer.parseInt(options.get("connections")),
+                Long.parseLong(options.get("seed")));
+        config.validate();
+        return config;
+    }
+
+    public static String usage() {
+        StringBuilder usage = new StringBuilder();
+        Set<String> names = new java.util.TreeSet<>(DEFAULTS.keySet());
+        names.forEach(name -> usage.append(System.lineSeparator())
+                .append("  --").append(name).append('=').append(DEFAULTS.get(name)));
+        return usage.toString();
+    }
+
+    private void validate() {
+        if (rate <= 0 || durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("rate and duration-s must be positive, warmup-s not negative");
+        }
+        if (wallets <= 0 || hotWallets <= 0 || hotWallets > wallets) {
+            throw new IllegalArgumentException("wallets must be positive and hot-wallets within 1.." + wallets);
+        }
+        if (hotRatio < 0 || hotRatio > 1) {
+            throw new IllegalArgumentException("hot-ratio must be within 0..1");
+        }
+        if (maxInFlight <= 0 || connections <= 0) {
+            throw new IllegalArgumentException("max-in-flight and connections must be positive");
+        }
+    }
+}
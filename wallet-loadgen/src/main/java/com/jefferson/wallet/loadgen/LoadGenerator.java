@@ -0,0 +1,166 @@
+package com.jefferson.wallet.loadgen;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a running wallet service at a constant arrival rate (open loop): request {@code i} is due at
+ * {@code start + i / rate} and is sent then, no matter how many earlier requests are still waiting.
+ * Wallets are created and funded first; the first {@code warmup-s} seconds are sent but not recorded.
+ */
+public class LoadGenerator {
+
+    private static final int SETUP_CONCURRENCY = 32;
+
+    private final LoadConfig config;
+
+    private final WalletApiClient client;
+
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    private final Random random;
+
+    private final List<UUID> wallets = new ArrayList<>();
+
+    public LoadGenerator(LoadConfig config, WalletApiClient client) {
+        this.config = config;
+        this.client = client;
+        this.random = new Random(config.seed());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Options:" + LoadConfig.usage());
+            System.exit(2);
+            return;
+        }
+
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(config.connections());
+        try {
+            LoadGenerator generator = new LoadGenerator(config, new WalletApiClient(config.baseUrl(), httpExecutor));
+            generator.setUpWallets();
+            generator.run();
+            generator.printReport();
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    void setUpWallets() throws IOException, InterruptedException {
+        System.out.printf("Creating %d wallets with balance %s...%n", config.wallets(), config.initialBalance());
+        for (int created = 0; created < config.wallets(); created += SETUP_CONCURRENCY) {
+            List<CompletableFuture<UUID>> batch = new ArrayList<>();
+            for (int i = created; i < Math.min(config.wallets(), created + SETUP_CONCURRENCY); i++) {
+                batch.add(client.createWallet().thenCompose(response -> {
+                    UUID walletId;
+                    try {
+                        walletId = client.parseWalletId(response);
+                    } catch (IOException e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                    return client.operate(walletId, Operation.DEPOSIT, config.initialBalance())
+                            .thenApply(ignored -> walletId);
+                }));
+            }
+            for (CompletableFuture<UUID> future : batch) {
+                try {
+                    wallets.add(future.join());
+                } catch (RuntimeException e) {
+                    throw new IOException("Wallet set up failed. Is the service running at " + config.baseUrl() + "?", e);
+                }
+            }
+        }
+    }
+
+    void run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long warmupRequests = (long) config.rate() * config.warmupSeconds();
+        long totalRequests = warmupRequests + (long) config.rate() * config.durationSeconds();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+
+        System.out.printf("Running %d req/s for %ds (+%ds warmup), hot ratio %.2f over %d hot wallets...%n",
+                config.rate(), config.durationSeconds(), config.warmupSeconds(), config.hotRatio(), config.hotWallets());
+
+        long start = System.nanoTime();
+        for (long i = 0; i < totalRequests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = i >= warmupRequests;
+            Operation operation = config.mix().next(random);
+            EndpointStats endpointStats = stats.get(operation);
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    endpointStats.recordDropped();
+                }
+                continue;
+            }
+
+            send(operation).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intendedStart;
+                if (measured) {
+                    if (error != null) {
+                        endpointStats.recordIoError(latency);
+                    }
+                    else {
+                        endpointStats.record(response.statusCode(), latency);
+                    }
+                }
+                inFlight.release();
+            });
+        }
+
+        if (!inFlight.tryAcquire(config.maxInFlight(), 60, TimeUnit.SECONDS)) {
+            System.out.println("Some requests were still in flight after 60s and are not in the report.");
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(Operation operation) {
+        return switch (operation) {
+            case CREATE -> client.createWallet();
+            case BALANCE -> client.getBalance(pickWallet());
+            case DEPOSIT, WITHDRAW -> client.operate(pickWallet(), operation, config.amount());
+        };
+    }
+
+    private UUID pickWallet() {
+        int hot = config.hotWallets();
+        if (random.nextDouble() < config.hotRatio() || hot == wallets.size()) {
+            return wallets.get(random.nextInt(hot));
+        }
+        return wallets.get(hot + random.nextInt(wallets.size() - hot));
+    }
+
+    void printReport() {
+        System.out.println();
+        EndpointStats.printHeader(System.out);
+        for (Operation operation : Operation.values()) {
+            stats.get(operation).print(System.out);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.jefferson.wallet.loadgen;
+
+public enum Operation {
+    CREATE,
+    BALANCE,
+    DEPOSIT,
+    WITHDRAW
+}
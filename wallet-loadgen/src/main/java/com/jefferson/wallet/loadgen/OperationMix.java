@@ -0,0 +1,58 @@
+package com.jefferson.wallet.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted choice of the next operation, e.g. {@code create=1,balance=50,deposit=30,withdraw=19}.
+ * Weights are relative, they don't have to add up to 100.
+ */
+public class OperationMix {
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final int totalWeight;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operation mix must have at least one positive weight");
+        }
+        this.totalWeight = total;
+    }
+
+    public static OperationMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid operation mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Operation weight mustn't be negative: " + part);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        return new OperationMix(weights);
+    }
+
+    public Operation next(RandomGenerator random) {
+        int point = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable: point " + point + " outside of total weight " + totalWeight);
+    }
+}
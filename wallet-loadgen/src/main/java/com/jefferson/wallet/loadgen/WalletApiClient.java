@@ -0,0 +1,72 @@
+package com.jefferson.wallet.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The WalletApi calls the load generator makes, over the JDK HTTP client. Response bodies are only
+ * parsed where the id of a new wallet is needed.
+ */
+public class WalletApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    private final URI baseUrl;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public WalletApiClient(URI baseUrl, Executor executor) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public CompletableFuture<HttpResponse<String>> createWallet() {
+        return send(HttpRequest.newBuilder(resolve("/wallets"))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    public CompletableFuture<HttpResponse<String>> getBalance(UUID walletId) {
+        return send(HttpRequest.newBuilder(resolve("/wallet/" + walletId)).GET());
+    }
+
+    public CompletableFuture<HttpResponse<String>> operate(UUID walletId, Operation operation, BigDecimal amount) {
+        String body = "{\"walletId\":\"" + walletId + "\",\"operationType\":\"" + operation.name() +
+                "\",\"amount\":" + amount.toPlainString() + "}";
+        return send(HttpRequest.newBuilder(resolve("/wallet"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    public UUID parseWalletId(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Wallet creation failed with status " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return UUID.fromString(json.get("id").asText());
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest.Builder request) {
+        return httpClient.sendAsync(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI resolve(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
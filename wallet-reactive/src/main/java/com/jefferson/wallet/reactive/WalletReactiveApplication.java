@@ -0,0 +1,18 @@
+package com.jefferson.wallet.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Non-blocking variant of the wallet API: WebFlux on Netty's event loops and R2DBC against the same
+ * schema, so a few threads can hold a large number of open connections. Covers wallet creation,
+ * balance, soft delete and single deposits/withdrawals.
+ */
+@SpringBootApplication
+public class WalletReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(WalletReactiveApplication.class, args);
+	}
+
+}
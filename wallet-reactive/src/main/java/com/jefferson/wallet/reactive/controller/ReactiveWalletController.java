@@ -0,0 +1,62 @@
+package com.jefferson.wallet.reactive.controller;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.dto.WalletDto;
+import com.jefferson.wallet.reactive.service.ReactiveWalletService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Same paths, bodies and status codes as the servlet stack's WalletController.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "/api/v1", produces = "application/json")
+public class ReactiveWalletController {
+
+    private final ReactiveWalletService walletService;
+
+    @Autowired
+    public ReactiveWalletController(ReactiveWalletService walletService) {
+        this.walletService = walletService;
+    }
+
+    @PostMapping("/wallets")
+    public Mono<ResponseEntity<WalletDto>> createNewWallet() {
+        log.debug("Processing wallet creation request.");
+
+        return walletService.createWallet()
+                .map(wallet -> ResponseEntity.status(HttpStatus.CREATED).body(wallet));
+    }
+
+    @GetMapping("/wallet/{walletId}")
+    public Mono<ResponseEntity<BalanceDto>> getWalletBalance(@PathVariable UUID walletId) {
+        log.debug("Processing get wallet balance request. Wallet id: {}.", walletId);
+
+        return walletService.getBalance(walletId).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/wallet/{walletId}")
+    public Mono<ResponseEntity<Void>> deleteWallet(@PathVariable UUID walletId) {
+        log.debug("Processing delete wallet request. Wallet id: {}.", walletId);
+
+        return walletService.softDeleteWallet(walletId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    @PostMapping("/wallet")
+    public Mono<ResponseEntity<BalanceDto>> processWalletOperation(@RequestBody @Valid TransactionRequest transactionRequest) {
+        log.debug("Processing wallet operation balance request. Wallet id: {}. Operation type: {}. Amount: {}.",
+                transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
+
+        return walletService.processTransaction(transactionRequest).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,127 @@
+package com.jefferson.wallet.reactive.exceptions;
+
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.exceptions.ErrorResponse;
+import com.jefferson.wallet.exceptions.IdempotencyKeyReusedException;
+import com.jefferson.wallet.exceptions.InsufficientFundsException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of GlobalExceptionHandler: the same status codes and bodies for the exceptions
+ * WebFlux raises in place of the servlet ones.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationException(WebExchangeBindException exception) {
+        Map<String, String> errors = new HashMap<>();
+        exception.getBindingResult().getFieldErrors()
+                .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+
+        log.error("Validation errors found in Controller: {}", errors.size());
+        errors.forEach((field, msg) -> log.error("Field: '{}': {}", field, msg));
+
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    /**
+     * Covers both an unparsable path variable (servlet: MethodArgumentTypeMismatchException)
+     * and an unreadable body (servlet: HttpMessageNotReadableException).
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<?> handleInputException(ServerWebInputException exception) {
+        if (exception.getCause() instanceof TypeMismatchException typeMismatch) {
+            log.error("TypeMismatchException occurred. Message: {}", typeMismatch.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("Error", "Invalid format: " + typeMismatch.getValue()));
+        }
+
+        Throwable rootCause = NestedExceptionUtils.getMostSpecificCause(exception);
+        ErrorResponse response;
+        if (rootCause instanceof IllegalArgumentException &&
+                rootCause.getMessage() != null &&
+                rootCause.getMessage().contains("OperationType")) {
+            response = createErrorResponse("INVALID_ENUM_VALUE",
+                    "Invalid OperationType. Allowed values: " + Arrays.toString(OperationType.values()));
+        }
+        else if (rootCause instanceof IllegalArgumentException &&
+                rootCause.getMessage() != null &&
+                rootCause.getMessage().contains("Invalid UUID")) {
+            response = createErrorResponse("INVALID_UUID_FORMAT", "Invalid UUID format");
+        }
+        else if (rootCause.getMessage() != null && rootCause.getMessage().contains("JSON decoding error")) {
+            response = createErrorResponse("MALFORMED_JSON", "Invalid JSON format");
+        }
+        else {
+            response = createErrorResponse("INVALID_REQUEST_BODY", "Request body is invalid");
+        }
+
+        log.error("ServerWebInputException occurred: {}.", response.errorTitle());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(DataIntegrityViolationException exception) {
+        log.error("DataIntegrityViolationException occurred. Message: {}", exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("Error", "Unique index or primary key violation."));
+    }
+
+    @ExceptionHandler(WalletNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleWalletNotFoundException(WalletNotFoundException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(InsufficientFundsException.class)
+    public ResponseEntity<Map<String, String>> handleInsufficientException(InsufficientFundsException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    // Unknown routes, unsupported methods and media types keep their own status
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, String>> handleResponseStatusException(ResponseStatusException exception) {
+        log.warn("ResponseStatusException occurred. Message: {}", exception.getMessage());
+        return ResponseEntity.status(exception.getStatusCode())
+                .body(Map.of("Error", String.valueOf(exception.getReason())));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, String>> handleCommonException(Exception exception) {
+        log.error("Common exception occurred. Message: {}", exception.getMessage());
+        return ResponseEntity.internalServerError()
+                .body(Map.of("Error", String.valueOf(exception.getMessage())));
+    }
+
+    private ErrorResponse createErrorResponse(String code, String message) {
+        return new ErrorResponse(code, message, Instant.now());
+    }
+}
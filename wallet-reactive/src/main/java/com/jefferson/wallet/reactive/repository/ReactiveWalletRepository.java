@@ -0,0 +1,120 @@
+package com.jefferson.wallet.reactive.repository;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.WalletDto;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.model.UuidV7;
+import com.jefferson.wallet.repository.StoredIdempotencyKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Wallet statements over R2DBC. Deposits and withdrawals use the same single-statement update as
+ * the servlet stack's WalletLedgerRepository, so they need neither a transaction block nor retries.
+ */
+@Repository
+public class ReactiveWalletRepository {
+
+    public record LedgerUpdate(boolean applied, BigDecimal balance) {
+    }
+
+    private static final String CREATE_SQL = "INSERT INTO wallets (id) VALUES (:id) RETURNING id, balance";
+
+    private static final String BALANCE_SQL = "SELECT balance FROM wallets WHERE id = :id AND is_active = true";
+
+    private static final String SOFT_DELETE_SQL =
+            "UPDATE wallets SET is_active = false, version = version + 1 WHERE id = :id AND is_active = true";
+
+    private static final String APPLY_SQL = """
+            WITH updated AS (
+                UPDATE wallets SET balance = balance + :delta, version = version + 1
+                WHERE id = :walletId AND is_active = true AND balance >= :requiredBalance
+                RETURNING id, balance
+            ), inserted AS (
+                INSERT INTO transactions (wallet_id, operation_type, amount)
+                SELECT id, :operationType, :amount FROM updated
+            ), keyed AS (
+                INSERT INTO transaction_idempotency_keys (idempotency_key, wallet_id, operation_type, amount, balance)
+                SELECT CAST(:idempotencyKey AS varchar), id, :operationType, :amount, balance FROM updated
+                WHERE CAST(:idempotencyKey AS varchar) IS NOT NULL
+            )
+            SELECT true AS applied, balance FROM updated
+            UNION ALL
+            SELECT false, w.balance FROM wallets w
+            WHERE w.id = :walletId AND w.is_active = true AND NOT EXISTS (SELECT 1 FROM updated)
+            """;
+
+    private static final String FIND_KEY_SQL = "SELECT wallet_id, operation_type, amount, balance, created_at " +
+            "FROM transaction_idempotency_keys WHERE idempotency_key = :key";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveWalletRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<WalletDto> create() {
+        // version 7 like the servlet service, whose active wallet filter only trusts ids newer than its last rebuild
+        return databaseClient.sql(CREATE_SQL)
+                .bind("id", UuidV7.generate())
+                .map((row, metadata) -> WalletDto.buildWallet(row.get("id", UUID.class), row.get("balance", BigDecimal.class)))
+                .one();
+    }
+
+    public Mono<BigDecimal> findActiveBalance(UUID walletId) {
+        return databaseClient.sql(BALANCE_SQL)
+                .bind("id", walletId)
+                .map((row, metadata) -> row.get("balance", BigDecimal.class))
+                .one();
+    }
+
+    public Mono<Long> softDelete(UUID walletId) {
+        return databaseClient.sql(SOFT_DELETE_SQL)
+                .bind("id", walletId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * @return empty if there is no active wallet with this id
+     * @throws org.springframework.dao.DuplicateKeyException (as an error signal) if the idempotency key was already used
+     */
+    public Mono<LedgerUpdate> apply(UUID walletId, OperationType operationType, BigDecimal amount, String idempotencyKey) {
+        boolean withdraw = operationType == OperationType.WITHDRAW;
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(APPLY_SQL)
+                .bind("delta", withdraw ? amount.negate() : amount)
+                .bind("walletId", walletId)
+                .bind("requiredBalance", withdraw ? amount : BigDecimal.ZERO)
+                .bind("operationType", operationType.name())
+                .bind("amount", amount);
+        statement = idempotencyKey != null
+                ? statement.bind("idempotencyKey", idempotencyKey)
+                : statement.bindNull("idempotencyKey", String.class);
+        return statement
+                .map((row, metadata) -> new LedgerUpdate(Boolean.TRUE.equals(row.get("applied", Boolean.class)),
+                        row.get("balance", BigDecimal.class)))
+                .first();
+    }
+
+    public Mono<StoredIdempotencyKey> findIdempotencyKey(String idempotencyKey) {
+        return databaseClient.sql(FIND_KEY_SQL)
+                .bind("key", idempotencyKey)
+                .map((row, metadata) -> {
+                    UUID walletId = row.get("wallet_id", UUID.class);
+                    String operationType = row.get("operation_type", String.class);
+                    return new StoredIdempotencyKey(walletId,
+                            operationType == null ? null : OperationType.valueOf(operationType),
+                            row.get("amount", BigDecimal.class),
+                            new BalanceDto(walletId, row.get("balance", BigDecimal.class),
+                                    row.get("created_at", OffsetDateTime.class).toInstant()));
+                })
+                .one();
+    }
+}
@@ -0,0 +1,15 @@
+package com.jefferson.wallet.reactive.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.dto.WalletDto;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveWalletService {
+    Mono<WalletDto> createWallet();
+    Mono<BalanceDto> getBalance(UUID walletId);
+    Mono<Void> softDeleteWallet(UUID walletId);
+    Mono<BalanceDto> processTransaction(TransactionRequest transactionRequest);
+}
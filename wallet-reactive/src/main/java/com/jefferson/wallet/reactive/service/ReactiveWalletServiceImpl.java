@@ -0,0 +1,73 @@
+package com.jefferson.wallet.reactive.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.dto.WalletDto;
+import com.jefferson.wallet.exceptions.IdempotencyKeyReusedException;
+import com.jefferson.wallet.exceptions.InsufficientFundsException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import com.jefferson.wallet.reactive.repository.ReactiveWalletRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class ReactiveWalletServiceImpl implements ReactiveWalletService {
+
+    private final ReactiveWalletRepository walletRepository;
+
+    @Autowired
+    public ReactiveWalletServiceImpl(ReactiveWalletRepository walletRepository) {
+        this.walletRepository = walletRepository;
+    }
+
+    @Override
+    public Mono<WalletDto> createWallet() {
+        return walletRepository.create()
+                .doOnNext(wallet -> log.debug("Wallet created with id: {}.", wallet.id()));
+    }
+
+    @Override
+    public Mono<BalanceDto> getBalance(UUID walletId) {
+        return walletRepository.findActiveBalance(walletId)
+                .map(balance -> BalanceDto.buildBalanceDto(walletId, balance))
+                .switchIfEmpty(Mono.error(() ->
+                        new WalletNotFoundException("Get balance request: wallet not found for id: " + walletId)));
+    }
+
+    @Override
+    public Mono<Void> softDeleteWallet(UUID walletId) {
+        return walletRepository.softDelete(walletId)
+                .doOnNext(updated -> log.debug("Soft delete wallet for id: {}. Wallets deactivated: {}.", walletId, updated))
+                .then();
+    }
+
+    @Override
+    public Mono<BalanceDto> processTransaction(TransactionRequest transactionRequest) {
+        return walletRepository.apply(transactionRequest.walletId(), transactionRequest.operationType(),
+                        transactionRequest.amount(), transactionRequest.idempotencyKey())
+                .switchIfEmpty(Mono.error(() ->
+                        new WalletNotFoundException("Wallet not found for id: " + transactionRequest.walletId())))
+                .flatMap(result -> result.applied()
+                        ? Mono.just(BalanceDto.buildBalanceDto(transactionRequest.walletId(), result.balance()))
+                        : Mono.error(new InsufficientFundsException("Insufficient funds for wallet with id: " +
+                                transactionRequest.walletId() +
+                                ". Transaction amount: " + transactionRequest.amount() +
+                                ". Transaction type: " + transactionRequest.operationType())))
+                .onErrorResume(DuplicateKeyException.class, e -> walletRepository
+                        .findIdempotencyKey(transactionRequest.idempotencyKey())
+                        .switchIfEmpty(Mono.error(e))
+                        .flatMap(stored -> stored.matches(transactionRequest.walletId(),
+                                transactionRequest.operationType(), transactionRequest.amount())
+                                ? Mono.just(stored.balance())
+                                : Mono.error(new IdempotencyKeyReusedException("Idempotency key " +
+                                        transactionRequest.idempotencyKey() + " was already used for a different operation")))
+                        .doOnNext(replay -> log.debug("Transaction replay answered from stored key. Idempotency key: {}.",
+                                transactionRequest.idempotencyKey())));
+    }
+}
@@ -0,0 +1,215 @@
+package com.jefferson.wallet.reactive.controllers;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.enums.OperationType;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The wallet, balance and operation scenarios of the servlet stack's WalletControllerTest,
+ * on the same test data and with the same expectations.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class ReactiveWalletControllerTest extends TestContainersBase {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void loadTestData() {
+        new ResourceDatabasePopulator(new FileSystemResource("../wallet/src/test/resources/test-data.sql"))
+                .populate(connectionFactory)
+                .block();
+    }
+
+    @Test
+    void shouldReturnCreatedWallet() {
+
+        webTestClient.post().uri("/api/v1/wallets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.balance").isEqualTo(0.00)
+                .jsonPath("$.timestamp").isNotEmpty();
+    }
+
+    @Test
+    void shouldReturnWalletBalance() {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        BalanceDto balanceDto = BalanceDto.buildBalanceDto(walletId, BigDecimal.valueOf(500.50));
+
+        webTestClient.get().uri("/api/v1/wallet/{walletId}", walletId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.walletId").isEqualTo(balanceDto.walletId().toString())
+                .jsonPath("$.balance").isEqualTo(balanceDto.balance().doubleValue())
+                .jsonPath("$.timestamp").isNotEmpty();
+    }
+
+    @Test
+    void shouldThrowWalletNotFound_GetWalletBalance() {
+
+        UUID badWalletId = UUID.randomUUID();
+
+        webTestClient.get().uri("/api/v1/wallet/{walletId}", badWalletId)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.Error").isEqualTo("Get balance request: wallet not found for id: " + badWalletId);
+    }
+
+    @Test
+    void shouldReturnBadRequest_InvalidPathVariable_GetWalletBalance() {
+
+        webTestClient.get().uri("/api/v1/wallet/abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.Error").isEqualTo("Invalid format: abc");
+    }
+
+    @Test
+    void shouldDeleteWallet() {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+        webTestClient.delete().uri("/api/v1/wallet/{walletId}", walletId)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void shouldReturnBadRequest_InvalidPathVariable_userById() {
+
+        webTestClient.delete().uri("/api/v1/wallet/abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.Error").isEqualTo("Invalid format: abc");
+    }
+
+    @Test
+    void shouldReturnUpdatedBalance_processWalletOperation() {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        TransactionRequest transactionRequest = TransactionRequest.buildTransactionRequest(
+                walletId, OperationType.WITHDRAW, BigDecimal.valueOf(10.50));
+
+        webTestClient.post().uri("/api/v1/wallet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(transactionRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.walletId").isEqualTo(walletId.toString())
+                .jsonPath("$.balance").isEqualTo(490.00)
+                .jsonPath("$.timestamp").isNotEmpty();
+    }
+
+    @Test
+    void shouldThrowInsufficientFund_processWalletOperation() {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        TransactionRequest transactionRequest = TransactionRequest.buildTransactionRequest(
+                walletId, OperationType.WITHDRAW, BigDecimal.valueOf(1000.50));
+
+        webTestClient.post().uri("/api/v1/wallet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(transactionRequest)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.Error").isEqualTo("Insufficient funds for wallet with id: " + walletId +
+                        ". Transaction amount: " + transactionRequest.amount() +
+                        ". Transaction type: " + transactionRequest.operationType());
+    }
+
+    @Test
+    void shouldReturnBadRequest_NullTransactionRequest_processWalletOperation() {
+
+        webTestClient.post().uri("/api/v1/wallet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("null")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorTitle").isEqualTo("INVALID_REQUEST_BODY")
+                .jsonPath("$.cause").isEqualTo("Request body is invalid")
+                .jsonPath("$.timestamp").exists();
+    }
+
+    @Test
+    void shouldReturnBadRequest_NullTransactionRequestWalletId_processWalletOperation() {
+
+        TransactionRequest request = TransactionRequest.buildTransactionRequest(
+                null, OperationType.DEPOSIT, BigDecimal.valueOf(100.00));
+
+        webTestClient.post().uri("/api/v1/wallet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.walletId").isEqualTo("UUID mustn't be null");
+    }
+
+    @Test
+    void shouldReturnBadRequest_TransactionRequestAmountNotPositive_processWalletOperation() {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        TransactionRequest request = TransactionRequest.buildTransactionRequest(
+                walletId, OperationType.DEPOSIT, BigDecimal.valueOf(-100.00));
+
+        webTestClient.post().uri("/api/v1/wallet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.amount").isEqualTo("Amount field must be positive");
+    }
+
+    @Test
+    void shouldApplyOnce_RepeatedIdempotencyKey_processWalletOperation() {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        TransactionRequest transactionRequest = TransactionRequest.buildTransactionRequest(
+                walletId, OperationType.WITHDRAW, BigDecimal.valueOf(10.50), UUID.randomUUID().toString());
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient.post().uri("/api/v1/wallet")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(transactionRequest)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.balance").isEqualTo(490.00);
+        }
+
+        webTestClient.get().uri("/api/v1/wallet/{walletId}", walletId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.balance").isEqualTo(490.00);
+    }
+}
@@ -0,0 +1,36 @@
+package com.jefferson.wallet.actuator;
+
+import com.jefferson.wallet.service.BalanceCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "balancecache")
+public class BalanceCacheEndpoint {
+
+    private final BalanceCache balanceCache;
+
+    @Autowired
+    public BalanceCacheEndpoint(BalanceCache balanceCache) {
+        this.balanceCache = balanceCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", balanceCache.isEnabled());
+        result.put("size", balanceCache.size());
+        balanceCache.stats().ifPresent(stats -> {
+            result.put("hitCount", stats.hitCount());
+            result.put("missCount", stats.missCount());
+            result.put("hitRate", stats.hitRate());
+            result.put("evictionCount", stats.evictionCount());
+        });
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.jefferson.wallet.actuator;
+
+import com.jefferson.wallet.dto.ReconciliationReport;
+import com.jefferson.wallet.service.ReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET returns the last report, POST runs a reconciliation and returns its report.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    private final ReconciliationService reconciliationService;
+
+    @Autowired
+    public ReconciliationEndpoint(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @ReadOperation
+    public ReconciliationReport lastReport() {
+        return reconciliationService.getLastReport().orElse(null);
+    }
+
+    @WriteOperation
+    public ReconciliationReport reconcile() {
+        return reconciliationService.reconcile();
+    }
+}
@@ -0,0 +1,131 @@
+package com.jefferson.wallet.cluster;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Current owner of every wallet id, from the {@code wallet.cluster.members} list. The ring is rebuilt after
+ * {@code /actuator/refresh}. Members refresh independently, so for a moment two of them may both treat a wallet
+ * as their own or forward it to each other; forwarded requests are never forwarded again, and two members
+ * writing the same wallet only fall back to the optimistic lock on {@code Wallet.version}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.cluster", name = "enabled", havingValue = "true")
+public class ClusterMembership {
+
+    private record Topology(HashRing ring, Map<String, String> urls, Set<String> hosts, String selfId) {
+    }
+
+    private final ClusterProps props;
+
+    private volatile Topology topology;
+
+    @Autowired
+    public ClusterMembership(ClusterProps props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.topology = buildTopology();
+        Gauge.builder("wallet.cluster.members", this, membership -> membership.topology.urls().size())
+                .description("Members of the wallet cluster")
+                .register(meterRegistry);
+        Gauge.builder("wallet.cluster.owned.share", this,
+                        membership -> membership.topology.ring().share(membership.topology.selfId()))
+                .description("Share of wallet ids owned by this instance")
+                .register(meterRegistry);
+        logTopology();
+    }
+
+    public String selfId() {
+        return topology.selfId();
+    }
+
+    /**
+     * @return base URL of the owning member, or empty when this instance owns the wallet or the member list is empty
+     */
+    public Optional<String> remoteOwnerUrl(UUID walletId) {
+        Topology current = topology;
+        String owner = current.ring().ownerOf(walletId);
+        if (owner == null || owner.equals(current.selfId())) {
+            return Optional.empty();
+        }
+        return Optional.of(current.urls().get(owner));
+    }
+
+    /**
+     * Whether a request came from a member's host. Member host names are resolved on every call through the
+     * JVM's DNS cache, so containers that restart with a new address are recognized again.
+     */
+    public boolean isMemberAddress(String remoteAddress) {
+        InetAddress remote;
+        try {
+            remote = InetAddress.getByName(remoteAddress);
+        } catch (UnknownHostException e) {
+            return false;
+        }
+        for (String host : topology.hosts()) {
+            try {
+                for (InetAddress address : InetAddress.getAllByName(host)) {
+                    if (address.equals(remote)) {
+                        return true;
+                    }
+                }
+            } catch (UnknownHostException e) {
+                log.debug("Cluster member host {} doesn't resolve.", host);
+            }
+        }
+        return false;
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void refresh() {
+        Topology previous = topology;
+        Topology refreshed = buildTopology();
+        if (refreshed.urls().equals(previous.urls()) && refreshed.selfId().equals(previous.selfId())) {
+            return;
+        }
+        topology = refreshed;
+        logTopology();
+    }
+
+    private Topology buildTopology() {
+        Map<String, String> urls = props.getMembers().stream()
+                .collect(Collectors.toUnmodifiableMap(ClusterProps.Member::getId,
+                        member -> stripTrailingSlash(member.getUrl()), (first, second) -> first));
+        String selfId = props.getSelfId() == null ? "" : props.getSelfId();
+        Set<String> hosts = urls.values().stream()
+                .map(url -> URI.create(url).getHost())
+                .filter(host -> host != null)
+                .collect(Collectors.toUnmodifiableSet());
+        return new Topology(HashRing.of(urls.keySet(), props.getVirtualNodes()), urls, hosts, selfId);
+    }
+
+    private void logTopology() {
+        Topology current = topology;
+        if (!current.urls().containsKey(current.selfId())) {
+            log.warn("This instance ({}) is not in the cluster member list and forwards every wallet request. Members: {}.",
+                    current.selfId(), current.urls().keySet());
+            return;
+        }
+        log.info("Cluster members: {}. This instance ({}) owns {}% of wallet ids.", current.urls().keySet(),
+                current.selfId(), Math.round(current.ring().share(current.selfId()) * 1000) / 10.0);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
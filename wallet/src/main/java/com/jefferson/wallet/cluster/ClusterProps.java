@@ -0,0 +1,54 @@
+package com.jefferson.wallet.cluster;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@RefreshScope
+@ConfigurationProperties(prefix = "wallet.cluster")
+public class ClusterProps {
+
+    /**
+     * Forwards wallet requests to the member that owns the wallet. Read once at startup;
+     * {@code members} can be changed at runtime through {@code /actuator/refresh}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Id of this instance in {@code members}. An instance missing from the list owns no wallets
+     * and forwards every wallet request.
+     */
+    private String selfId;
+
+    private List<Member> members = new ArrayList<>();
+
+    /**
+     * Ring positions per member; more positions spread wallets more evenly. A member's share strays from
+     * its fair share by roughly {@code 1 / sqrt(virtualNodes)}: about 9% at 128, under 3% at 1024.
+     */
+    private int virtualNodes = 1024;
+
+    private long forwardConnectTimeoutMs = 500;
+
+    private long forwardTimeoutMs = 5000;
+
+    @Getter
+    @Setter
+    public static class Member {
+
+        private String id;
+
+        /**
+         * Base URL other members forward to, e.g. {@code http://wallet-2:8080}.
+         */
+        private String url;
+    }
+}
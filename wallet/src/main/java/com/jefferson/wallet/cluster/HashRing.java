@@ -0,0 +1,115 @@
+package com.jefferson.wallet.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable consistent-hash ring of member ids. Every member is placed at {@code virtualNodes} positions
+ * derived from its id, and a wallet belongs to the first position at or after the wallet's hash, so adding
+ * or removing a member only moves the wallets on the arcs next to that member's positions.
+ * Positions are compared as signed longs; the ring wraps from {@code Long.MAX_VALUE} to {@code Long.MIN_VALUE}.
+ */
+final class HashRing {
+
+    static final HashRing EMPTY = new HashRing(new long[0], new String[0]);
+
+    private final long[] positions;
+
+    private final String[] owners;
+
+    private HashRing(long[] positions, String[] owners) {
+        this.positions = positions;
+        this.owners = owners;
+    }
+
+    static HashRing of(Collection<String> memberIds, int virtualNodes) {
+        String[] ids = memberIds.stream().distinct().sorted().toArray(String[]::new);
+        int size = ids.length * virtualNodes;
+        long[] unsortedPositions = new long[size];
+        String[] unsortedOwners = new String[size];
+        for (int member = 0; member < ids.length; member++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                int index = member * virtualNodes + node;
+                unsortedPositions[index] = hash(ids[member] + "#" + node);
+                unsortedOwners[index] = ids[member];
+            }
+        }
+
+        Integer[] order = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingLong((Integer index) -> unsortedPositions[index])
+                .thenComparing(index -> unsortedOwners[index]));
+        long[] positions = new long[size];
+        String[] owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = unsortedPositions[order[i]];
+            owners[i] = unsortedOwners[order[i]];
+        }
+        return new HashRing(positions, owners);
+    }
+
+    boolean isEmpty() {
+        return positions.length == 0;
+    }
+
+    /**
+     * @return the owning member id, or null for an empty ring
+     */
+    String ownerOf(UUID walletId) {
+        if (positions.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(positions, hash(walletId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == positions.length ? 0 : index];
+    }
+
+    /**
+     * Fraction of the hash space, and so of wallets, owned by the member.
+     */
+    double share(String memberId) {
+        if (positions.length == 0) {
+            return 0;
+        }
+        double owned = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (owners[i].equals(memberId)) {
+                // unsigned length of the arc ending at this position; wraps around for the first one
+                long arc = positions[i] - positions[i == 0 ? positions.length - 1 : i - 1];
+                owned += arc == 0 && positions.length == 1 ? 0x1p64 : unsigned(arc);
+            }
+        }
+        return owned / 0x1p64;
+    }
+
+    private static double unsigned(long value) {
+        return value >= 0 ? value : value + 0x1p64;
+    }
+
+    static long hash(UUID walletId) {
+        // v7 ids share their leading timestamp bits, so both halves go through the mixer
+        return mix(mix(walletId.getMostSignificantBits()) ^ walletId.getLeastSignificantBits());
+    }
+
+    private static long hash(String value) {
+        // FNV-1a, then the mixer to spread nearby ids like "wallet-1#3" and "wallet-1#4"
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
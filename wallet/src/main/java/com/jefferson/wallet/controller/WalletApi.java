@@ -1,15 +1,32 @@
 package com.jefferson.wallet.controller;
 
 import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.BatchTransactionResult;
+import com.jefferson.wallet.dto.TransactionPageDto;
 import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.dto.TransferDto;
+import com.jefferson.wallet.dto.TransferRequest;
 import com.jefferson.wallet.dto.WalletDto;
+import com.jefferson.wallet.enums.OperationType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface WalletApi {
     ResponseEntity<WalletDto> createNewWallet();
-    ResponseEntity<BalanceDto> getWalletBalance(UUID walletId);
+    ResponseEntity<StreamingResponseBody> createNewWallets(int count);
+    ResponseEntity<BalanceDto> getWalletBalance(UUID walletId, Long minVersion);
+    SseEmitter streamWalletBalances(Set<UUID> walletIds);
     ResponseEntity<Void> deleteWallet(UUID walletId);
-    ResponseEntity<BalanceDto> processWalletOperation(TransactionRequest transactionRequest);
+    ResponseEntity<?> processWalletOperation(TransactionRequest transactionRequest);
+    ResponseEntity<List<BatchTransactionResult>> processWalletOperations(List<TransactionRequest> transactionRequests);
+    ResponseEntity<TransferDto> transfer(TransferRequest transferRequest);
+    ResponseEntity<TransactionPageDto> getTransactionHistory(UUID walletId, String cursor, Integer limit,
+                                                             OperationType type, Instant from, Instant to);
+    ResponseEntity<StreamingResponseBody> exportTransactions(UUID walletId, Instant from, Instant to, boolean gzip);
 }
@@ -1,20 +1,52 @@
 package com.jefferson.wallet.controller;
 
 import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.BatchTransactionResult;
+import com.jefferson.wallet.dto.TransactionPageDto;
 import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.dto.TransferDto;
+import com.jefferson.wallet.dto.TransferRequest;
 import com.jefferson.wallet.dto.WalletDto;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.service.BalanceStreamService;
+import com.jefferson.wallet.service.BatchPaymentService;
 import com.jefferson.wallet.service.PaymentService;
-import com.jefferson.wallet.service.PaymentServiceImpl;
+import com.jefferson.wallet.service.PaymentServiceProps;
+import com.jefferson.wallet.service.TransactionExportProps;
+import com.jefferson.wallet.service.TransactionExportService;
+import com.jefferson.wallet.service.TransactionHistoryService;
+import com.jefferson.wallet.service.TransactionOutcome;
+import com.jefferson.wallet.service.TransferService;
+import com.jefferson.wallet.service.WalletBulkCreateProps;
+import com.jefferson.wallet.service.WalletBulkCreateService;
 import com.jefferson.wallet.service.WalletService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -25,33 +57,90 @@ public class WalletController implements WalletApi {
 
     private final PaymentService paymentService;
 
+    private final BatchPaymentService batchPaymentService;
+
+    private final TransferService transferService;
+
+    private final TransactionHistoryService transactionHistoryService;
+
+    private final TransactionExportService transactionExportService;
+
+    private final WalletBulkCreateService walletBulkCreateService;
+
+    private final BalanceStreamService balanceStreamService;
+
+    private final PaymentServiceProps paymentServiceProps;
+
+    private final TransactionExportProps transactionExportProps;
+
+    private final WalletBulkCreateProps walletBulkCreateProps;
+
     @Autowired
-    public WalletController(WalletService walletService, PaymentService paymentService) {
+    public WalletController(WalletService walletService, PaymentService paymentService,
+                            BatchPaymentService batchPaymentService,
+                            TransferService transferService,
+                            TransactionHistoryService transactionHistoryService,
+                            TransactionExportService transactionExportService,
+                            WalletBulkCreateService walletBulkCreateService,
+                            BalanceStreamService balanceStreamService,
+                            PaymentServiceProps paymentServiceProps,
+                            TransactionExportProps transactionExportProps,
+                            WalletBulkCreateProps walletBulkCreateProps) {
         this.walletService = walletService;
         this.paymentService = paymentService;
+        this.batchPaymentService = batchPaymentService;
+        this.transferService = transferService;
+        this.transactionHistoryService = transactionHistoryService;
+        this.transactionExportService = transactionExportService;
+        this.walletBulkCreateService = walletBulkCreateService;
+        this.balanceStreamService = balanceStreamService;
+        this.paymentServiceProps = paymentServiceProps;
+        this.transactionExportProps = transactionExportProps;
+        this.walletBulkCreateProps = walletBulkCreateProps;
     }
 
     @Override
     @PostMapping("/wallets")
     public ResponseEntity<WalletDto> createNewWallet() {
-        log.info("Processing wallet creation request. Timestamp: {}", Instant.now());
+        log.debug("Processing wallet creation request.");
 
         return ResponseEntity.status(HttpStatus.CREATED).body(walletService.createWallet());
     }
 
+    @Override
+    @PostMapping(path = "/wallets/bulk", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> createNewWallets(@RequestParam int count) {
+        log.debug("Processing bulk wallet creation request. Count: {}.", count);
+
+        WalletBulkCreateService.BulkCreateHandle bulkCreate = walletBulkCreateService.openBulkCreate(count);
+        prepareStreamingBody("wallet.bulk-create", walletBulkCreateProps.getAsyncTimeoutMs(), bulkCreate::abandon);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(bulkCreate::writeTo);
+    }
+
     @Override
     @GetMapping("/wallet/{walletId}")
-    public ResponseEntity<BalanceDto> getWalletBalance(@PathVariable UUID walletId) {
-        log.info("Processing get wallet balance request. Wallet id: {}.Timestamp: {}", walletId, Instant.now());
+    public ResponseEntity<BalanceDto> getWalletBalance(@PathVariable UUID walletId,
+                                                       @RequestParam(required = false) Long minVersion) {
+        log.debug("Processing get wallet balance request. Wallet id: {}. Min version: {}.", walletId, minVersion);
 
-        BalanceDto balanceDto = walletService.getBalance(walletId);
+        BalanceDto balanceDto = walletService.getBalance(walletId, minVersion);
         return ResponseEntity.ok(balanceDto);
     }
 
+    @Override
+    @GetMapping(path = "/wallets/balance-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWalletBalances(@RequestParam("walletId") Set<UUID> walletIds) {
+        log.debug("Processing balance stream request. Wallets: {}.", walletIds.size());
+
+        return balanceStreamService.subscribe(walletIds);
+    }
+
     @Override
     @DeleteMapping("/wallet/{walletId}")
     public ResponseEntity<Void> deleteWallet(@PathVariable UUID walletId) {
-        log.info("Processing delete wallet request. Wallet id: {}. Timestamp: {}", walletId, Instant.now());
+        log.debug("Processing delete wallet request. Wallet id: {}.", walletId);
 
         walletService.softDeleteWallet(walletId);
 
@@ -60,17 +149,124 @@ public class WalletController implements WalletApi {
 
     @Override
     @PostMapping("/wallet")
-    public ResponseEntity<BalanceDto> processWalletOperation(@RequestBody @Valid TransactionRequest transactionRequest) {
-        log.info("Processing wallet operation balance request. Wallet id: {}. Operation type: {}. Amount: {}. Timestamp: {}",
-                transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount(), Instant.now());
+    public ResponseEntity<?> processWalletOperation(@RequestBody @Valid TransactionRequest transactionRequest) {
+        log.debug("Processing wallet operation balance request. Wallet id: {}. Operation type: {}. Amount: {}.",
+                transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
 
-        BalanceDto balanceDto = paymentService.processTransaction(transactionRequest);
+        TransactionOutcome outcome = paymentService.process(transactionRequest);
+        if (outcome instanceof TransactionOutcome.Rejected rejected) {
+            log.debug("Wallet operation rejected. {}", rejected);
+            return ResponseEntity.status(statusOf(rejected)).body(Map.of("Error", rejected.message()));
+        }
 
-        return ResponseEntity.ok(balanceDto);
+        return ResponseEntity.ok(((TransactionOutcome.Applied) outcome).balance());
+    }
+
+    @Override
+    @PostMapping("/wallet/batch")
+    public ResponseEntity<List<BatchTransactionResult>> processWalletOperations(
+            @RequestBody List<TransactionRequest> transactionRequests) {
+        log.debug("Processing wallet operation batch request. Size: {}.",
+                transactionRequests.size());
+
+        List<BatchTransactionResult> results = batchPaymentService.processBatch(transactionRequests).stream()
+                .map(outcome -> outcome instanceof TransactionOutcome.Rejected rejected
+                        ? BatchTransactionResult.buildFailure(statusOf(rejected).value(), rejected.walletId(), rejected.message())
+                        : BatchTransactionResult.buildSuccess(((TransactionOutcome.Applied) outcome).balance()))
+                .toList();
+
+        return ResponseEntity.ok(results);
+    }
+
+    @Override
+    @PostMapping("/wallet/transfer")
+    public ResponseEntity<TransferDto> transfer(@RequestBody @Valid TransferRequest transferRequest) {
+        log.debug("Processing wallet transfer request. From: {}. To: {}. Amount: {}.",
+                transferRequest.fromWalletId(), transferRequest.toWalletId(), transferRequest.amount());
+
+        return ResponseEntity.ok(transferService.transfer(transferRequest));
+    }
+
+    @Override
+    @GetMapping("/wallet/{walletId}/transactions")
+    public ResponseEntity<TransactionPageDto> getTransactionHistory(
+            @PathVariable UUID walletId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) OperationType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        log.debug("Processing transaction history request. Wallet id: {}. Cursor: {}.",
+                walletId, cursor);
+
+        return ResponseEntity.ok(transactionHistoryService.getHistory(walletId, cursor, limit, type, from, to));
+    }
+
+    @Override
+    @GetMapping(path = "/transactions/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(required = false) UUID walletId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.debug("Processing transaction export request. Wallet id: {}. From: {}. To: {}.",
+                walletId, from, to);
+
+        TransactionExportService.ExportHandle export = transactionExportService.openExport(walletId, from, to);
+        prepareStreamingBody("wallet.export", transactionExportProps.getAsyncTimeoutMs(), export::abandon);
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                try (OutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024, true)) {
+                    export.writeTo(gzipStream);
+                }
+            }
+            else {
+                export.writeTo(outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Gives the streaming body of this request its own async timeout. The body only runs on an async thread,
+     * so if the request times out, fails or the client leaves before that, the slot reserved for it is freed here.
+     */
+    private static void prepareStreamingBody(String key, long timeoutMs, Runnable abandon) {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(key, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                    asyncWebRequest.setTimeout(timeoutMs);
+                }
+            }
+
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                abandon.run();
+            }
+        });
+    }
+
+    public static HttpStatus statusOf(TransactionOutcome.Rejected rejected) {
+        if (rejected instanceof TransactionOutcome.WalletNotFound) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (rejected instanceof TransactionOutcome.InsufficientFunds
+                || rejected instanceof TransactionOutcome.IdempotencyKeyReused) {
+            return HttpStatus.UNPROCESSABLE_ENTITY;
+        }
+        throw new IllegalStateException("No status for rejection " + rejected);
     }
 
     @GetMapping("/max-retries")
     public ResponseEntity<Integer> getMaxRetries() {
-        return ResponseEntity.ok(((PaymentServiceImpl) paymentService).getTransactionMaxRetries());
+        return ResponseEntity.ok(paymentServiceProps.getMaxRetry());
     }
 }
@@ -0,0 +1,57 @@
+package com.jefferson.wallet.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured pool with two: the primary, configured by {@code spring.datasource.*} as
+ * before, and a read replica. JPA and JDBC code get a routing data source behind a lazy proxy, so the
+ * physical connection is picked at the first statement, when the routing decision is already made.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "wallet.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProps props) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl(props.getUrl());
+        replica.setUsername(props.getUsername());
+        replica.setPassword(props.getPassword());
+        replica.setMaximumPoolSize(props.getMaximumPoolSize());
+        replica.setConnectionTimeout(props.getConnectionTimeoutMs());
+        replica.setConnectionInitSql("SET TIME ZONE 'UTC'");
+        replica.setReadOnly(true);
+        replica.setPoolName("WalletReplicaHikariPool");
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,85 @@
+package com.jefferson.wallet.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures how far the replica is behind. A replica that has replayed everything it received counts
+ * as 0 ms even when the primary has been idle for a while; a server that isn't in recovery at all is a
+ * standalone copy and also counts as 0. An unreachable replica is unusable until the next successful check.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000, 'Infinity')
+            END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final long maxLagMs;
+
+    private volatile double lagMs = Double.POSITIVE_INFINITY;
+
+    private volatile boolean usable;
+
+    @Autowired
+    public ReplicaLagMonitor(@Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                             ReplicaProps props,
+                             MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMs = props.getMaxLagMs();
+        Gauge.builder("wallet.replica.lag", this, monitor -> monitor.lagMs)
+                .description("Replication lag of the read replica, infinite while it can't be reached")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("wallet.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("1 while balance reads are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Called when a replica read failed: stop routing reads there until the next check succeeds.
+     */
+    public void markUnusable() {
+        usable = false;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.datasource.replica.lag-check-interval-ms:500}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double measured = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            lagMs = measured == null ? Double.POSITIVE_INFINITY : measured;
+        } catch (DataAccessException e) {
+            lagMs = Double.POSITIVE_INFINITY;
+            if (wasUsable) {
+                log.warn("Replica lag check failed, reading from the primary. Cause: {}", e.getMessage());
+            }
+        }
+        usable = lagMs <= maxLagMs;
+        if (usable != wasUsable && Double.isFinite(lagMs)) {
+            log.info("Replica reads {}. Lag: {} ms, threshold: {} ms.", usable ? "enabled" : "disabled",
+                    Math.round(lagMs), maxLagMs);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jefferson.wallet.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.datasource.replica")
+public class ReplicaProps {
+
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int maximumPoolSize = 20;
+
+    private long connectionTimeoutMs = 1000;
+
+    /**
+     * Reads go back to the primary while the measured replication lag is above this.
+     */
+    private long maxLagMs = 1000;
+
+    private long lagCheckIntervalMs = 500;
+}
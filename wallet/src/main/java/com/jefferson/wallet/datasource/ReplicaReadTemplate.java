@@ -0,0 +1,52 @@
+package com.jefferson.wallet.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a read in its own read-only transaction on the replica when one is configured and within the lag
+ * threshold; otherwise, inside an existing transaction, or when the replica read fails, on the primary.
+ * Results may be up to {@code max-lag-ms} old, so callers that need their own writes check the version.
+ */
+@Slf4j
+@Component
+public class ReplicaReadTemplate {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public ReplicaReadTemplate(ObjectProvider<ReplicaLagMonitor> lagMonitor,
+                               PlatformTransactionManager transactionManager) {
+        this.lagMonitor = lagMonitor.getIfAvailable();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> T read(Supplier<T> work) {
+        if (lagMonitor == null || !lagMonitor.isUsable() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        ReplicaRoutingDataSource.useReplica();
+        try {
+            return readOnlyTransaction.execute(status -> work.get());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Replica read failed, retrying on the primary. Cause: {}", e.getMessage());
+            lagMonitor.markUnusable();
+        } finally {
+            ReplicaRoutingDataSource.clear();
+        }
+        return work.get();
+    }
+}
@@ -0,0 +1,29 @@
+package com.jefferson.wallet.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out replica connections to the thread inside {@link ReplicaReadTemplate#read}, primary
+ * connections to everyone else.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    static void useReplica() {
+        REPLICA_READ.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        REPLICA_READ.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return REPLICA_READ.get() != null ? REPLICA : PRIMARY;
+    }
+}
@@ -1,12 +1,27 @@
 package com.jefferson.wallet.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
-public record BalanceDto(UUID walletId, BigDecimal balance, Instant timestamp) {
+/**
+ * {@code version} is the wallet version the balance belongs to; a client passes it back as
+ * {@code minVersion} to read its own write. It is absent where unknown, as in idempotent replays.
+ */
+public record BalanceDto(UUID walletId, BigDecimal balance, Instant timestamp,
+                         @JsonInclude(JsonInclude.Include.NON_NULL) Long version) {
+
+    public BalanceDto(UUID walletId, BigDecimal balance, Instant timestamp) {
+        this(walletId, balance, timestamp, null);
+    }
 
     public static BalanceDto buildBalanceDto(UUID walletId, BigDecimal balance) {
-        return new BalanceDto(walletId, balance, Instant.now());
+        return new BalanceDto(walletId, balance, Instant.now(), null);
+    }
+
+    public static BalanceDto buildBalanceDto(UUID walletId, BigDecimal balance, long version) {
+        return new BalanceDto(walletId, balance, Instant.now(), version);
     }
 }
@@ -0,0 +1,23 @@
+package com.jefferson.wallet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Per-item result of a batch request. {@code status} is the HTTP status the single-request
+ * endpoint would have answered with: 200, 404 (wallet not found) or 422 (insufficient funds).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchTransactionResult(int status, UUID walletId, BigDecimal balance, String error, Instant timestamp) {
+
+    public static BatchTransactionResult buildSuccess(BalanceDto balanceDto) {
+        return new BatchTransactionResult(200, balanceDto.walletId(), balanceDto.balance(), null, balanceDto.timestamp());
+    }
+
+    public static BatchTransactionResult buildFailure(int status, UUID walletId, String error) {
+        return new BatchTransactionResult(status, walletId, null, error, Instant.now());
+    }
+}
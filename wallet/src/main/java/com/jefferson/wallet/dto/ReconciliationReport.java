@@ -0,0 +1,17 @@
+package com.jefferson.wallet.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of one reconciliation run. {@code drifts} holds at most {@code max-reported-drifts} entries,
+ * {@code driftCount} is the real number of wallets that didn't match their ledger.
+ */
+public record ReconciliationReport(Instant startedAt,
+                                   Instant finishedAt,
+                                   Instant checkpointCutoff,
+                                   long walletsChecked,
+                                   long checkpointsAdvanced,
+                                   long driftCount,
+                                   List<WalletDrift> drifts) {
+}
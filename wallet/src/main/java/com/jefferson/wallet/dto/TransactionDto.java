@@ -0,0 +1,13 @@
+package com.jefferson.wallet.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jefferson.wallet.enums.OperationType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TransactionDto(UUID id, UUID walletId, OperationType operationType, BigDecimal amount,
+                             UUID transferId, Instant createdAt) {
+}
@@ -0,0 +1,14 @@
+package com.jefferson.wallet.dto;
+
+import java.util.List;
+
+/**
+ * One page of wallet history, newest first. Pass {@code nextCursor} back to get the next page;
+ * it is null on the last page.
+ */
+public record TransactionPageDto(List<TransactionDto> items, String nextCursor) {
+
+    public static TransactionPageDto buildPage(List<TransactionDto> items, String nextCursor) {
+        return new TransactionPageDto(items, nextCursor);
+    }
+}
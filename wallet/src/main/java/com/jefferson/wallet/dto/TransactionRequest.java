@@ -1,8 +1,10 @@
 package com.jefferson.wallet.dto;
 
 import com.jefferson.wallet.enums.OperationType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -15,11 +17,22 @@ public record TransactionRequest(@NotNull(message = "UUID mustn't be null")
 
                                  @NotNull(message = "Amount field mustn't be null")
                                  @Positive(message = "Amount field must be positive")
-                                 BigDecimal amount) {
+                                 @Digits(integer = 16, fraction = 2, message = "Amount must have at most 16 integer digits and 2 decimals")
+                                 BigDecimal amount,
+
+                                 @Size(min = 1, max = 64, message = "Idempotency key must be 1-64 characters long")
+                                 String idempotencyKey) {
 
     public static TransactionRequest buildTransactionRequest(UUID walletId,
                                                       OperationType operationType,
                                                       BigDecimal amount) {
-        return new TransactionRequest(walletId, operationType, amount);
+        return new TransactionRequest(walletId, operationType, amount, null);
+    }
+
+    public static TransactionRequest buildTransactionRequest(UUID walletId,
+                                                      OperationType operationType,
+                                                      BigDecimal amount,
+                                                      String idempotencyKey) {
+        return new TransactionRequest(walletId, operationType, amount, idempotencyKey);
     }
 }
@@ -0,0 +1,11 @@
+package com.jefferson.wallet.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record TransferDto(UUID transferId, BalanceDto source, BalanceDto target, Instant timestamp) {
+
+    public static TransferDto buildTransfer(UUID transferId, BalanceDto source, BalanceDto target) {
+        return new TransferDto(transferId, source, target, Instant.now());
+    }
+}
@@ -0,0 +1,32 @@
+package com.jefferson.wallet.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record TransferRequest(@NotNull(message = "Source wallet UUID mustn't be null")
+                              UUID fromWalletId,
+
+                              @NotNull(message = "Target wallet UUID mustn't be null")
+                              UUID toWalletId,
+
+                              @NotNull(message = "Amount field mustn't be null")
+                              @Positive(message = "Amount field must be positive")
+                              @Digits(integer = 16, fraction = 2, message = "Amount must have at most 16 integer digits and 2 decimals")
+                              BigDecimal amount) {
+
+    public static TransferRequest buildTransferRequest(UUID fromWalletId, UUID toWalletId, BigDecimal amount) {
+        return new TransferRequest(fromWalletId, toWalletId, amount);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Source and target wallets must differ")
+    public boolean isDistinctWallets() {
+        return fromWalletId == null || !fromWalletId.equals(toWalletId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jefferson.wallet.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record WalletDrift(UUID walletId, BigDecimal balance, BigDecimal expectedBalance, BigDecimal drift) {
+}
@@ -0,0 +1,6 @@
+package com.jefferson.wallet.enums;
+
+public enum PersistenceStrategy {
+    JPA,
+    ATOMIC_SQL
+}
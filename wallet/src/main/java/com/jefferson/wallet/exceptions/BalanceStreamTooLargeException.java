@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class BalanceStreamTooLargeException extends RuntimeException {
+    public BalanceStreamTooLargeException(String message) {
+        super(message);
+    }
+}
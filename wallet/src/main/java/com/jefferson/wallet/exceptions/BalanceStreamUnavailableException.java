@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class BalanceStreamUnavailableException extends RuntimeException {
+    public BalanceStreamUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class BulkCreateBusyException extends RuntimeException {
+    public BulkCreateBusyException(String message) {
+        super(message);
+    }
+}
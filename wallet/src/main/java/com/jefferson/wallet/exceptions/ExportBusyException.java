@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class ExportBusyException extends RuntimeException {
+    public ExportBusyException(String message) {
+        super(message);
+    }
+}
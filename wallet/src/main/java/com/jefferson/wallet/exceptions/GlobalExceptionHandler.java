@@ -9,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
@@ -89,6 +90,14 @@ public class GlobalExceptionHandler {
                     .body(Map.of("Error", "Invalid format: " + exception.getValue()));
     }
 
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<Map<String, String>> handleMissingParameterException(MissingServletRequestParameterException exception) {
+            log.error("MissingServletRequestParameterException occurred. Message: {}", exception.getMessage());
+
+            return ResponseEntity.badRequest()
+                    .body(Map.of("Error", "Missing request parameter: " + exception.getParameterName()));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(DataIntegrityViolationException exception) {
         log.error("DataIntegrityViolationException occurred. Message: {}", exception.getMessage());
@@ -113,6 +122,13 @@ public class GlobalExceptionHandler {
                 .body(Map.of("Error", exception.getMessage()));
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<Map<String, String>> handleInsufficientException(InsufficientFundsException exception) {
         log.warn(exception.getMessage());
@@ -120,6 +136,76 @@ public class GlobalExceptionHandler {
                 .body(Map.of("Error", exception.getMessage()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.badRequest()
+                .body(createErrorResponse("INVALID_CURSOR", "Invalid pagination cursor"));
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLargeException(BatchTooLargeException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.badRequest()
+                .body(createErrorResponse("BATCH_TOO_LARGE", exception.getMessage()));
+    }
+
+    @ExceptionHandler(BalanceStreamTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBalanceStreamTooLargeException(BalanceStreamTooLargeException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.badRequest()
+                .body(createErrorResponse("BALANCE_STREAM_TOO_LARGE", exception.getMessage()));
+    }
+
+    @ExceptionHandler(TransactionRetryExhaustedException.class)
+    public ResponseEntity<Map<String, String>> handleRetryExhaustedException(TransactionRetryExhaustedException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(PaymentEngineOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handlePaymentEngineOverloadedException(PaymentEngineOverloadedException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(TransactionOutcomeUnknownException.class)
+    public ResponseEntity<Map<String, String>> handleTransactionOutcomeUnknownException(TransactionOutcomeUnknownException exception) {
+        log.error(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(ExportBusyException.class)
+    public ResponseEntity<Map<String, String>> handleExportBusyException(ExportBusyException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(BulkCreateBusyException.class)
+    public ResponseEntity<Map<String, String>> handleBulkCreateBusyException(BulkCreateBusyException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(BalanceStreamUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleBalanceStreamUnavailableException(BalanceStreamUnavailableException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(ReconciliationInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleReconciliationInProgressException(ReconciliationInProgressException exception) {
+        log.warn(exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleCommonException(Exception exception) {
         log.error("Common exception occurred. Message: {}", exception.getMessage());
@@ -0,0 +1,10 @@
+package com.jefferson.wallet.exceptions;
+
+/**
+ * Business rejection, not a fault: created without a stack trace.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,7 +1,10 @@
 package com.jefferson.wallet.exceptions;
 
+/**
+ * Business rejection, not a fault: created without a stack trace.
+ */
 public class InsufficientFundsException extends RuntimeException {
     public InsufficientFundsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
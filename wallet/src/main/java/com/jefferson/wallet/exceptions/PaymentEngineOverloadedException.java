@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class PaymentEngineOverloadedException extends RuntimeException {
+    public PaymentEngineOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class ReconciliationInProgressException extends RuntimeException {
+    public ReconciliationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class TransactionOutcomeUnknownException extends RuntimeException {
+    public TransactionOutcomeUnknownException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jefferson.wallet.exceptions;
+
+public class TransactionRetryExhaustedException extends RuntimeException {
+    public TransactionRetryExhaustedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -5,11 +5,14 @@ import lombok.Setter;
 
 import java.util.UUID;
 
+/**
+ * Business rejection, not a fault: created without a stack trace.
+ */
 @Getter
 @Setter
 public class WalletNotFoundException extends RuntimeException {
 
     public WalletNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
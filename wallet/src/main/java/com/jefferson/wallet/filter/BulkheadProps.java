@@ -0,0 +1,24 @@
+package com.jefferson.wallet.filter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.bulkhead")
+public class BulkheadProps {
+
+    /**
+     * Concurrent API requests; 0 sizes the bulkhead to the Hikari maximum pool size.
+     */
+    private int permits = 0;
+
+    /**
+     * How long a request waits for a permit before it is rejected with 503.
+     * Kept below the Hikari connection-timeout so requests queue here and not on the pool.
+     */
+    private long acquireTimeoutMs = 2000;
+}
@@ -0,0 +1,318 @@
+package com.jefferson.wallet.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.wallet.cluster.ClusterMembership;
+import com.jefferson.wallet.cluster.ClusterProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends a wallet request to the cluster member that owns the wallet, so that all operations on one wallet
+ * run on one instance and its in-memory per-wallet serialization (sharded lanes, contention tracking,
+ * balance cache) holds across the cluster. The wallet is taken from the path, from {@code walletId} in the
+ * body of a single operation, or from {@code fromWalletId} of a transfer. Batches, bulk creation, exports and
+ * balance streams are handled where they arrive. If the owner can't be reached the request is processed
+ * locally, which is still correct thanks to the version check, only slower under contention. A write that reached
+ * the owner but got no answer is not repeated locally; the client gets 503 and retries, ideally with an idempotency key.
+ * The forwarded-by header only stops routing when the request comes from a member's address; a client sending it
+ * is routed like any other request, and the header it sent is dropped.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "wallet.cluster", name = "enabled", havingValue = "true")
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_BY_HEADER = "X-Wallet-Forwarded-By";
+
+    private static final Pattern WALLET_PATH = Pattern.compile("^/api/v1/wallet/([0-9a-fA-F-]{36})(/.*)?$");
+
+    private static final String OPERATION_PATH = "/api/v1/wallet";
+
+    private static final String TRANSFER_PATH = "/api/v1/wallet/transfer";
+
+    // hop-by-hop headers and the ones HttpClient sets itself
+    private static final Set<String> SKIPPED_HEADERS = Set.of("host", "content-length", "connection", "keep-alive",
+            "transfer-encoding", "te", "trailer", "upgrade", "expect", "proxy-connection");
+
+    private final ClusterMembership membership;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient;
+
+    private final Duration forwardTimeout;
+
+    private final Counter forwarded;
+
+    private final Counter forwardFailures;
+
+    @Autowired
+    public ClusterForwardingFilter(ClusterMembership membership, ClusterProps props, ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.membership = membership;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(props.getForwardConnectTimeoutMs()))
+                .build();
+        this.forwardTimeout = Duration.ofMillis(props.getForwardTimeoutMs());
+        this.forwarded = Counter.builder("wallet.cluster.forwarded")
+                .description("Requests forwarded to the member owning the wallet")
+                .register(meterRegistry);
+        this.forwardFailures = Counter.builder("wallet.cluster.forward.failures")
+                .description("Forwards without an answer from the owner")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (request.getHeader(FORWARDED_BY_HEADER) != null) {
+            if (membership.isMemberAddress(request.getRemoteAddr())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            log.debug("Ignoring {} sent from {}, which is not a cluster member.", FORWARDED_BY_HEADER, request.getRemoteAddr());
+            request = new WithoutForwardedByRequest(request);
+        }
+
+        String uri = request.getRequestURI();
+        HttpServletRequest effectiveRequest = request;
+        byte[] body = null;
+        UUID walletId = null;
+
+        Matcher matcher = WALLET_PATH.matcher(uri);
+        if (matcher.matches()) {
+            walletId = parseUuid(matcher.group(1));
+        }
+        else if (HttpMethod.POST.matches(request.getMethod()) && (uri.equals(OPERATION_PATH) || uri.equals(TRANSFER_PATH))) {
+            body = request.getInputStream().readAllBytes();
+            effectiveRequest = new CachedBodyRequest(request, body);
+            walletId = walletIdFromBody(body, uri.equals(TRANSFER_PATH) ? "fromWalletId" : "walletId");
+        }
+
+        Optional<String> ownerUrl = walletId == null ? Optional.empty() : membership.remoteOwnerUrl(walletId);
+        if (ownerUrl.isEmpty()) {
+            filterChain.doFilter(effectiveRequest, response);
+            return;
+        }
+
+        if (body == null) {
+            body = request.getInputStream().readAllBytes();
+            effectiveRequest = new CachedBodyRequest(request, body);
+        }
+        HttpResponse<byte[]> ownerResponse;
+        try {
+            ownerResponse = forward(request, body, ownerUrl.get());
+        } catch (ConnectException | HttpConnectTimeoutException e) {
+            // the owner never saw the request
+            forwardFailures.increment();
+            log.warn("Owner {} is unreachable, processing locally. Wallet id: {}.", ownerUrl.get(), walletId);
+            filterChain.doFilter(effectiveRequest, response);
+            return;
+        } catch (IOException e) {
+            forwardFailures.increment();
+            if (HttpMethod.GET.matches(request.getMethod())) {
+                filterChain.doFilter(effectiveRequest, response);
+                return;
+            }
+            // the owner may have applied the operation already, so it isn't repeated here
+            log.warn("Forwarding to {} failed. Wallet id: {}. Cause: {}", ownerUrl.get(), walletId, e.getMessage());
+            writeError(response, "Owner instance did not answer, try again later");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            forwardFailures.increment();
+            writeError(response, "Interrupted while forwarding the request");
+            return;
+        }
+        forwarded.increment();
+
+        response.setStatus(ownerResponse.statusCode());
+        for (Map.Entry<String, List<String>> header : ownerResponse.headers().map().entrySet()) {
+            if (!SKIPPED_HEADERS.contains(header.getKey().toLowerCase())) {
+                header.getValue().forEach(value -> response.addHeader(header.getKey(), value));
+            }
+        }
+        response.getOutputStream().write(ownerResponse.body());
+    }
+
+    private HttpResponse<byte[]> forward(HttpServletRequest request, byte[] body, String ownerUrl)
+            throws IOException, InterruptedException {
+        String query = request.getQueryString();
+        HttpRequest.Builder forwardRequest = HttpRequest.newBuilder(
+                        URI.create(ownerUrl + request.getRequestURI() + (query == null ? "" : "?" + query)))
+                .timeout(forwardTimeout)
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase()) && !FORWARDED_BY_HEADER.equalsIgnoreCase(name)) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    forwardRequest.header(name, value);
+                }
+            }
+        }
+        forwardRequest.header(FORWARDED_BY_HEADER, membership.selfId());
+
+        return httpClient.send(forwardRequest.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void writeError(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("Error", message));
+    }
+
+    private UUID walletIdFromBody(byte[] body, String field) {
+        try {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            return value == null || !value.isTextual() ? null : parseUuid(value.asText());
+        } catch (IOException e) {
+            // malformed bodies are rejected by the controller
+            return null;
+        }
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static class WithoutForwardedByRequest extends HttpServletRequestWrapper {
+
+        WithoutForwardedByRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return FORWARDED_BY_HEADER.equalsIgnoreCase(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return FORWARDED_BY_HEADER.equalsIgnoreCase(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !FORWARDED_BY_HEADER.equalsIgnoreCase(name))
+                    .toList());
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // the whole body is already in memory, so it is available and then read right away
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
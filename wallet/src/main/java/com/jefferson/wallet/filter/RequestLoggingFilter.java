@@ -0,0 +1,146 @@
+package com.jefferson.wallet.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one structured line per API request instead of per-method log statements. Server errors, client
+ * errors and requests slower than the threshold are always logged; successful requests are sampled, so under
+ * load the cost of a request that is not logged is two clock reads and a random number. Rejections such as
+ * 404 or 422 are mostly answered without an exception, so this line is their only record. Async requests
+ * (balance streams, exports, bulk creation) are long by design and few: each is logged when it completes,
+ * with its final status, and without sampling or the slow threshold.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.logging.requests", name = "enabled", havingValue = "true")
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private final double sampleRate;
+
+    private final long slowThresholdMs;
+
+    @Autowired
+    public RequestLoggingFilter(RequestLoggingProps props) {
+        this.sampleRate = props.getSampleRate();
+        this.slowThresholdMs = props.getSlowThresholdMs();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure == null && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(
+                        new CompletionListener(request.getMethod(), request.getRequestURI(), response, start));
+            }
+            else {
+                int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                logRequest(selectEvent(status, failure, durationMs), request.getMethod(), request.getRequestURI(),
+                        status, failure, durationMs);
+            }
+        }
+    }
+
+    private static void logRequest(LoggingEventBuilder event, String method, String uri, int status,
+                                   Throwable failure, long durationMs) {
+        if (event != null) {
+            event.setMessage("request")
+                    .addKeyValue("method", method)
+                    .addKeyValue("uri", uri)
+                    .addKeyValue("status", status)
+                    .addKeyValue("durationMs", durationMs)
+                    .setCause(failure)
+                    .log();
+        }
+    }
+
+    private LoggingEventBuilder selectEvent(int status, Throwable failure, long durationMs) {
+        if (failure != null || status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            return log.atError();
+        }
+        if (durationMs >= slowThresholdMs) {
+            return log.atWarn();
+        }
+        if (status >= HttpServletResponse.SC_BAD_REQUEST) {
+            return log.atInfo();
+        }
+        if (sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            return log.atInfo();
+        }
+        return null;
+    }
+
+    /**
+     * The container calls onComplete after onTimeout and onError too, so the line is written there once.
+     */
+    private static class CompletionListener implements AsyncListener {
+
+        private final String method;
+
+        private final String uri;
+
+        private final HttpServletResponse response;
+
+        private final long start;
+
+        private volatile Throwable failure;
+
+        CompletionListener(String method, String uri, HttpServletResponse response, long start) {
+            this.method = method;
+            this.uri = uri;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            int status = response.getStatus();
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logRequest(failure != null || status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR ? log.atError() : log.atInfo(),
+                    method, uri, status, failure, durationMs);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // the status Spring answers a timeout with is in the response by onComplete
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failure = event.getThrowable();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.jefferson.wallet.filter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.logging.requests")
+public class RequestLoggingProps {
+
+    /**
+     * Fraction of successful, fast requests that are logged, from 0 (none) to 1 (all).
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Requests slower than this are always logged at WARN.
+     */
+    private long slowThresholdMs = 500;
+}
@@ -0,0 +1,60 @@
+package com.jefferson.wallet.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of {@code NUMERIC(18, 2)} held as a long of minor units (cents). Arithmetic is exact and
+ * overflow-checked against the column's range, and allocates nothing beyond the result itself, where
+ * the same operations on {@link BigDecimal} allocate and, for large values, go through BigInteger.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    /**
+     * Largest absolute value of NUMERIC(18, 2) in minor units: 9999999999999999.99.
+     */
+    public static final long MAX_MINOR_UNITS = 999_999_999_999_999_999L;
+
+    public static final Money ZERO = new Money(0);
+
+    public Money {
+        if (minorUnits > MAX_MINOR_UNITS || minorUnits < -MAX_MINOR_UNITS) {
+            throw new ArithmeticException("Amount out of NUMERIC(18, 2) range: " + minorUnits + " minor units");
+        }
+    }
+
+    /**
+     * @throws ArithmeticException if the value has more than 2 significant decimals or doesn't fit NUMERIC(18, 2)
+     */
+    public static Money of(BigDecimal value) {
+        return new Money(value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.jefferson.wallet.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps {@link Money} to a NUMERIC(18, 2) column. {@code @Immutable} lets Hibernate snapshot and dirty-check
+ * the value by reference and equals, instead of deep-copying it through a round trip to BigDecimal.
+ */
+@Immutable
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+}
@@ -38,6 +38,9 @@ public class Transaction {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "transfer_id")
+    private UUID transferId;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
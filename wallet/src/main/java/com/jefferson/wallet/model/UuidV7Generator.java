@@ -0,0 +1,17 @@
+package com.jefferson.wallet.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+/**
+ * Hibernate id algorithm producing {@link UuidV7} identifiers, the same kind bulk creation writes.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return UuidV7.generate();
+    }
+}
@@ -9,7 +9,6 @@ import lombok.Setter;
 import org.hibernate.annotations.Generated;
 import org.hibernate.annotations.UuidGenerator;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -22,11 +21,12 @@ import java.util.UUID;
 public class Wallet {
 
     @Id
-    @UuidGenerator(style = UuidGenerator.Style.TIME)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(name = "balance", precision = 18, scale = 2, nullable = false)
-    private BigDecimal balance = BigDecimal.valueOf(0);
+    @Convert(converter = MoneyConverter.class)
+    private Money balance = Money.ZERO;
 
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
@@ -0,0 +1,71 @@
+package com.jefferson.wallet.repository;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.enums.OperationType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores the result of every keyed transaction. The primary key on {@code idempotency_key}
+ * is what rejects a second application of the same request; keys are kept for the retention only.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO transaction_idempotency_keys " +
+            "(idempotency_key, wallet_id, operation_type, amount, balance) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String FIND_SQL = "SELECT wallet_id, operation_type, amount, balance, created_at " +
+            "FROM transaction_idempotency_keys WHERE idempotency_key = ?";
+
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM transaction_idempotency_keys WHERE idempotency_key IN (
+                SELECT idempotency_key FROM transaction_idempotency_keys WHERE created_at < ? LIMIT ?
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @throws org.springframework.dao.DuplicateKeyException if the key was already used
+     */
+    public void insert(String idempotencyKey, UUID walletId, OperationType operationType, BigDecimal amount,
+                       BigDecimal balance) {
+        jdbcTemplate.update(INSERT_SQL, idempotencyKey, walletId, operationType.name(), amount, balance);
+    }
+
+    public Optional<StoredIdempotencyKey> find(String idempotencyKey) {
+        return jdbcTemplate.query(FIND_SQL, (resultSet, rowNum) -> {
+                    UUID walletId = resultSet.getObject("wallet_id", UUID.class);
+                    String operationType = resultSet.getString("operation_type");
+                    return new StoredIdempotencyKey(walletId,
+                            operationType == null ? null : OperationType.valueOf(operationType),
+                            resultSet.getBigDecimal("amount"),
+                            new BalanceDto(walletId, resultSet.getBigDecimal("balance"),
+                                    resultSet.getObject("created_at", OffsetDateTime.class).toInstant()));
+                },
+                idempotencyKey).stream().findFirst();
+    }
+
+    /**
+     * Deletes up to {@code limit} keys stored before {@code cutoff}.
+     *
+     * @return number of deleted keys
+     */
+    public int deleteExpired(Instant cutoff, int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC), limit);
+    }
+}
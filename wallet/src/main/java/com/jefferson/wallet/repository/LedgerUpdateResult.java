@@ -0,0 +1,10 @@
+package com.jefferson.wallet.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of a guarded balance update: {@code applied} is false when the balance guard rejected the
+ * operation, in which case {@code balance} and {@code version} describe the untouched wallet.
+ */
+public record LedgerUpdateResult(boolean applied, BigDecimal balance, long version) {
+}
@@ -0,0 +1,116 @@
+package com.jefferson.wallet.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Incremental reconciliation queries. Ledger rows are only read after each wallet's checkpoint through
+ * idx_transactions_wallet_created, so a run costs the delta since the previous run rather than a full scan.
+ */
+@Repository
+public class ReconciliationRepository {
+
+    private static final String PAGE_SQL = """
+            SELECT w.id, w.balance,
+                   COALESCE(c.balance, 0) AS checkpoint_balance,
+                   c.checkpoint_at,
+                   COALESCE(d.delta_to_cutoff, 0) AS delta_to_cutoff,
+                   COALESCE(d.delta_total, 0) AS delta_total
+            FROM wallets w
+            LEFT JOIN wallet_reconciliation_checkpoints c ON c.wallet_id = w.id
+            LEFT JOIN LATERAL (
+                SELECT SUM(CASE t.operation_type WHEN 'DEPOSIT' THEN t.amount ELSE -t.amount END)
+                           FILTER (WHERE t.created_at <= ?) AS delta_to_cutoff,
+                       SUM(CASE t.operation_type WHEN 'DEPOSIT' THEN t.amount ELSE -t.amount END) AS delta_total
+                FROM transactions t
+                WHERE t.wallet_id = w.id AND t.created_at > COALESCE(c.checkpoint_at, '-infinity'::timestamptz)
+            ) d ON true
+            WHERE w.id >= ?
+              AND (CAST(? AS uuid) IS NULL OR w.id < CAST(? AS uuid))
+              AND (CAST(? AS uuid) IS NULL OR w.id > CAST(? AS uuid))
+            ORDER BY w.id
+            LIMIT ?
+            """;
+
+    private static final String UPSERT_CHECKPOINTS_SQL = """
+            INSERT INTO wallet_reconciliation_checkpoints (wallet_id, balance, checkpoint_at)
+            SELECT id, balance, ? FROM unnest(?::uuid[], ?::numeric[]) AS v(id, balance)
+            ON CONFLICT (wallet_id) DO UPDATE
+            SET balance = EXCLUDED.balance, checkpoint_at = EXCLUDED.checkpoint_at, updated_at = CURRENT_TIMESTAMP
+            WHERE wallet_reconciliation_checkpoints.checkpoint_at < EXCLUDED.checkpoint_at
+            """;
+
+    private static final String ESTIMATED_WALLETS_SQL =
+            "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'wallets'::regclass";
+
+    private static final String SAMPLED_QUANTILES_SQL =
+            "SELECT percentile_disc(?::float8[]) WITHIN GROUP (ORDER BY id) FROM wallets TABLESAMPLE SYSTEM (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReconciliationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Wallets of the range {@code [lowerBound, upperBound)} that come after {@code afterId}, in id order.
+     *
+     * @param upperBound null for the last range
+     * @param afterId    last wallet of the previous page, null for the first page
+     */
+    public List<ReconciliationRow> findPage(UUID lowerBound, UUID upperBound, UUID afterId, Instant cutoff, int limit) {
+        return jdbcTemplate.query(PAGE_SQL, (resultSet, rowNum) -> {
+                    Timestamp checkpointAt = resultSet.getTimestamp("checkpoint_at");
+                    return new ReconciliationRow(resultSet.getObject("id", UUID.class),
+                            resultSet.getBigDecimal("balance"),
+                            resultSet.getBigDecimal("checkpoint_balance"),
+                            checkpointAt == null ? null : checkpointAt.toInstant(),
+                            resultSet.getBigDecimal("delta_to_cutoff"),
+                            resultSet.getBigDecimal("delta_total"));
+                },
+                OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC), lowerBound,
+                upperBound, upperBound, afterId, afterId, limit);
+    }
+
+    /**
+     * Wallet ids at the given quantiles (0..1, ascending) of a sample of about {@code sampleSize} wallets,
+     * in Postgres uuid order. Empty when the sample came back empty.
+     */
+    public List<UUID> sampleIdQuantiles(double[] quantiles, long sampleSize) {
+        Long estimated = jdbcTemplate.queryForObject(ESTIMATED_WALLETS_SQL, Long.class);
+        double percent = estimated == null || estimated <= sampleSize ? 100 : 100.0 * sampleSize / estimated;
+        List<UUID> ids = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SAMPLED_QUANTILES_SQL);
+            statement.setArray(1, connection.createArrayOf("float8", Arrays.stream(quantiles).boxed().toArray()));
+            statement.setDouble(2, percent);
+            return statement;
+        }, (resultSet, rowNum) -> {
+            Array array = resultSet.getArray(1);
+            return array == null ? List.<UUID>of() : Arrays.asList((UUID[]) array.getArray());
+        }).stream().findFirst().orElse(List.of());
+        return ids.contains(null) ? List.of() : ids;
+    }
+
+    public void saveCheckpoints(UUID[] walletIds, BigDecimal[] balances, Instant checkpointAt) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPSERT_CHECKPOINTS_SQL);
+            statement.setObject(1, OffsetDateTime.ofInstant(checkpointAt, ZoneOffset.UTC));
+            statement.setArray(2, connection.createArrayOf("uuid", walletIds));
+            statement.setArray(3, connection.createArrayOf("numeric", balances));
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.jefferson.wallet.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One wallet as seen by reconciliation: its current balance, its last checkpoint and the ledger sums
+ * since that checkpoint, all read from the same snapshot.
+ */
+public record ReconciliationRow(UUID walletId,
+                                BigDecimal balance,
+                                BigDecimal checkpointBalance,
+                                Instant checkpointAt,
+                                BigDecimal deltaToCutoff,
+                                BigDecimal deltaTotal) {
+
+    public BigDecimal expectedBalance() {
+        return checkpointBalance.add(deltaTotal);
+    }
+}
@@ -0,0 +1,20 @@
+package com.jefferson.wallet.repository;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.enums.OperationType;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A used idempotency key: the operation it was used for and the balance it produced. {@code operationType}
+ * and {@code amount} are null for keys stored before they were recorded.
+ */
+public record StoredIdempotencyKey(UUID walletId, OperationType operationType, BigDecimal amount, BalanceDto balance) {
+
+    public boolean matches(UUID walletId, OperationType operationType, BigDecimal amount) {
+        return this.walletId.equals(walletId)
+                && (this.operationType == null || this.operationType == operationType)
+                && (this.amount == null || this.amount.compareTo(amount) == 0);
+    }
+}
@@ -0,0 +1,74 @@
+package com.jefferson.wallet.repository;
+
+import com.jefferson.wallet.dto.TransactionDto;
+import com.jefferson.wallet.enums.OperationType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset pagination over a wallet's ledger, newest first. Pages continue strictly after
+ * {@code (created_at, id)} of the previous page's last row, which idx_transactions_wallet_created serves
+ * directly, so a deep page costs the same as the first one.
+ */
+@Repository
+public class TransactionHistoryRepository {
+
+    public static final RowMapper<TransactionDto> TRANSACTION_ROW_MAPPER = (resultSet, rowNum) -> new TransactionDto(
+            resultSet.getObject("id", UUID.class),
+            resultSet.getObject("wallet_id", UUID.class),
+            OperationType.valueOf(resultSet.getString("operation_type")),
+            resultSet.getBigDecimal("amount"),
+            resultSet.getObject("transfer_id", UUID.class),
+            resultSet.getObject("created_at", OffsetDateTime.class).toInstant());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TransactionHistoryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param afterCreatedAt with {@code afterId}: position of the last row already returned, or null for the first page
+     */
+    public List<TransactionDto> findPage(UUID walletId, OperationType type, Instant from, Instant to,
+                                         Instant afterCreatedAt, UUID afterId, int limit) {
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, wallet_id, operation_type, amount, transfer_id, created_at " +
+                "FROM transactions WHERE wallet_id = :walletId");
+        MapSqlParameterSource params = new MapSqlParameterSource("walletId", walletId);
+
+        if (type != null) {
+            sql.append(" AND operation_type = :type");
+            params.addValue("type", type.name());
+        }
+        if (from != null) {
+            sql.append(" AND created_at >= :from");
+            params.addValue("from", OffsetDateTime.ofInstant(from, ZoneOffset.UTC));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < :to");
+            params.addValue("to", OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+        }
+        if (afterCreatedAt != null) {
+            // The plain bound on created_at is implied by the row comparison, but only it lets the planner prune partitions
+            sql.append(" AND created_at <= :afterCreatedAt AND (created_at, id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", OffsetDateTime.ofInstant(afterCreatedAt, ZoneOffset.UTC));
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, TRANSACTION_ROW_MAPPER);
+    }
+}
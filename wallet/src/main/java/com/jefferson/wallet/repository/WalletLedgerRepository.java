@@ -0,0 +1,64 @@
+package com.jefferson.wallet.repository;
+
+import com.jefferson.wallet.enums.OperationType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Applies a deposit or withdrawal with one SQL statement: guarded balance update, ledger insert,
+ * optional idempotency key insert and result read-back in a single round trip, without optimistic-lock retries.
+ */
+@Repository
+public class WalletLedgerRepository {
+
+    private static final String APPLY_SQL = """
+            WITH updated AS (
+                UPDATE wallets SET balance = balance + ?, version = version + 1
+                WHERE id = ? AND is_active = true AND balance >= ?
+                RETURNING id, balance, version
+            ), inserted AS (
+                INSERT INTO transactions (wallet_id, operation_type, amount)
+                SELECT id, ?, ? FROM updated
+            ), keyed AS (
+                INSERT INTO transaction_idempotency_keys (idempotency_key, wallet_id, operation_type, amount, balance)
+                SELECT CAST(? AS varchar), id, ?, ?, balance FROM updated WHERE CAST(? AS varchar) IS NOT NULL
+            )
+            SELECT true AS applied, balance, version FROM updated
+            UNION ALL
+            SELECT false, w.balance, w.version FROM wallets w
+            WHERE w.id = ? AND w.is_active = true AND NOT EXISTS (SELECT 1 FROM updated)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public WalletLedgerRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param idempotencyKey stored together with the operation and the resulting balance when not null
+     * @return empty if there is no active wallet with this id
+     * @throws org.springframework.dao.DuplicateKeyException if the idempotency key was already used
+     */
+    public Optional<LedgerUpdateResult> apply(UUID walletId, OperationType operationType, BigDecimal amount,
+                                              String idempotencyKey) {
+        boolean withdraw = operationType == OperationType.WITHDRAW;
+        BigDecimal delta = withdraw ? amount.negate() : amount;
+        BigDecimal requiredBalance = withdraw ? amount : BigDecimal.ZERO;
+
+        List<LedgerUpdateResult> results = jdbcTemplate.query(APPLY_SQL,
+                (resultSet, rowNum) -> new LedgerUpdateResult(resultSet.getBoolean("applied"),
+                        resultSet.getBigDecimal("balance"), resultSet.getLong("version")),
+                delta, walletId, requiredBalance, operationType.name(), amount,
+                idempotencyKey, operationType.name(), amount, idempotencyKey, walletId);
+
+        return results.stream().findFirst();
+    }
+}
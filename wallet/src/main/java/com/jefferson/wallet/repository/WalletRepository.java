@@ -1,10 +1,14 @@
 package com.jefferson.wallet.repository;
 
 import com.jefferson.wallet.model.Wallet;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +16,16 @@ public interface WalletRepository extends CrudRepository<Wallet, UUID> {
 
     @Query("SELECT w FROM Wallet w WHERE w.isActive = true AND w.id = :id")
     Optional<Wallet> findActiveById(@Param("id") UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.isActive = true AND w.id = :id")
+    Optional<Wallet> findActiveByIdForUpdate(@Param("id") UUID id);
+
+    @Query("SELECT w FROM Wallet w WHERE w.isActive = true AND w.id IN :ids")
+    List<Wallet> findActiveByIds(@Param("ids") Collection<UUID> ids);
+
+    // ORDER BY makes Postgres lock the rows in id order, so concurrent multi-wallet updates can't deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.isActive = true AND w.id IN :ids ORDER BY w.id")
+    List<Wallet> findActiveByIdsForUpdate(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,148 @@
+package com.jefferson.wallet.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jefferson.wallet.model.UuidV7;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers "this wallet certainly doesn't exist or was deleted" without a query. A Bloom filter of active
+ * wallet ids is rebuilt from {@code idx_wallets_active} on startup and on {@code rebuild-cron} and takes
+ * local creates; a bounded tombstone cache covers local soft deletes, which a Bloom filter can't remove. Everything else falls through to the database:
+ * <ul>
+ *     <li>any id while the first rebuild hasn't finished;</li>
+ *     <li>version 7 ids younger than the last rebuild, which another instance may have created;</li>
+ *     <li>filter hits, including false positives and wallets deleted by other instances.</li>
+ * </ul>
+ * Wallets inserted with an older or non-v7 id after the rebuild (outside this service) stay invisible to
+ * it until the next rebuild, which is why the filter is off by default. Every writer of {@code wallets}
+ * (this service, bulk creation and wallet-reactive) generates version 7 ids, so it is safe to enable.
+ */
+@Slf4j
+@Component
+public class ActiveWalletFilter {
+
+    private static final String ACTIVE_COUNT_SQL = "SELECT count(*) FROM wallets WHERE is_active = true";
+
+    private static final String ACTIVE_IDS_SQL = "SELECT id FROM wallets WHERE is_active = true";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private record Snapshot(BloomFilter filter, long builtFromMillis) {
+    }
+
+    private final WalletMembershipProps props;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<UUID, Boolean> tombstones;
+
+    private final Counter definiteMisses;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ActiveWalletFilter(WalletMembershipProps props,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.props = props;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Postgres only uses a cursor for fetch size inside a transaction
+        this.transactionTemplate.setReadOnly(true);
+        this.tombstones = Caffeine.newBuilder()
+                .maximumSize(props.getTombstoneSize())
+                .build();
+        this.definiteMisses = Counter.builder("wallet.membership.definite.misses")
+                .description("Wallet lookups rejected by the active wallet filter without a query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True only when the wallet is certainly missing or deleted; false means "ask the database".
+     */
+    public boolean isDefinitelyAbsent(UUID walletId) {
+        Snapshot current = snapshot;
+        if (current == null || walletId == null) {
+            return false;
+        }
+        boolean absent = tombstones.getIfPresent(walletId) != null
+                || (UuidV7.timestampMillis(walletId) < current.builtFromMillis()
+                    && !current.filter().mightContain(walletId));
+        if (absent) {
+            definiteMisses.increment();
+        }
+        return absent;
+    }
+
+    public void added(UUID walletId) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.filter().put(walletId);
+        }
+    }
+
+    public void removed(UUID walletId) {
+        if (props.isEnabled()) {
+            tombstones.put(walletId, Boolean.TRUE);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${wallet.membership.rebuild-cron:-}")
+    public void rebuild() {
+        if (!props.isEnabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            Long activeCount = jdbcTemplate.queryForObject(ACTIVE_COUNT_SQL, Long.class);
+            long capacity = Math.max(props.getExpectedWallets(), activeCount == null ? 0 : activeCount * 3 / 2);
+            BloomFilter filter = BloomFilter.create(capacity, props.getFalsePositiveRate(),
+                    props.getMaxMemoryMb() * 8L * 1024 * 1024);
+
+            long[] loaded = {0};
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(ACTIVE_IDS_SQL);
+                        statement.setFetchSize(FETCH_SIZE);
+                        return statement;
+                    }, (RowCallbackHandler) resultSet -> {
+                        filter.put(resultSet.getObject(1, UUID.class));
+                        loaded[0]++;
+                    }));
+
+            snapshot = new Snapshot(filter, startedAt - props.getClockSkewMs());
+            log.info("Active wallet filter rebuilt. Wallets: {}, bits: {}, hashes: {}, expected false positive rate: {}.",
+                    loaded[0], filter.bitCount(), filter.hashCount(), String.format("%.4f", filter.falsePositiveRate(loaded[0])));
+        } catch (RuntimeException e) {
+            log.warn("Active wallet filter rebuild failed, keeping the previous one. Cause: {}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+}
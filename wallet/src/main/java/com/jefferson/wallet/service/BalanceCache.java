@@ -0,0 +1,100 @@
+package com.jefferson.wallet.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded read-through cache of wallet balances. Every entry carries the {@code Wallet.version} it was
+ * read or written at, and an entry is only replaced by one with an equal or newer version, so a slow
+ * reader can't overwrite a fresher balance written by a concurrent transaction.
+ * Other instances' writes become visible after {@code ttl-ms} at the latest.
+ */
+@Slf4j
+@Component
+public class BalanceCache {
+
+    public record CachedBalance(BigDecimal balance, long version, boolean active) {
+    }
+
+    private final Cache<UUID, CachedBalance> cache;
+
+    @Autowired
+    public BalanceCache(BalanceCacheProps props) {
+        this.cache = props.isEnabled()
+                ? Caffeine.newBuilder()
+                    .maximumSize(props.getMaximumSize())
+                    .expireAfterWrite(Duration.ofMillis(props.getTtlMs()))
+                    .recordStats()
+                    .build()
+                : null;
+        log.info("Balance cache enabled: {}.", props.isEnabled());
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public Optional<CachedBalance> get(UUID walletId) {
+        return cache == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(walletId));
+    }
+
+    public void put(UUID walletId, BigDecimal balance, long version) {
+        store(walletId, new CachedBalance(balance, version, true));
+    }
+
+    public void markDeleted(UUID walletId, long version) {
+        store(walletId, new CachedBalance(null, version, false));
+    }
+
+    public void evict(UUID walletId) {
+        if (cache != null) {
+            cache.invalidate(walletId);
+        }
+    }
+
+    /**
+     * Puts the balance once the surrounding transaction commits, or right away when there is none.
+     */
+    public void putAfterCommit(UUID walletId, BigDecimal balance, long version) {
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(walletId, balance, version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(walletId, balance, version);
+            }
+        });
+    }
+
+    public Optional<CacheStats> stats() {
+        return cache == null ? Optional.empty() : Optional.of(cache.stats());
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private void store(UUID walletId, CachedBalance value) {
+        if (cache == null) {
+            return;
+        }
+        cache.asMap().merge(walletId, value,
+                (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.balance.cache")
+public class BalanceCacheProps {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 100000;
+
+    private long ttlMs = 5000;
+}
@@ -0,0 +1,178 @@
+package com.jefferson.wallet.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends committed balance changes to every instance through Postgres NOTIFY. Changes are queued after
+ * commit and a single thread sends whatever collected within {@code publish-window-ms} as one statement,
+ * so payment transactions don't queue on the notify lock at commit and a burst costs one round trip.
+ * A change is one {@code walletId,balance,version} line; lines are packed into payloads below the
+ * 8000 byte NOTIFY limit. Delivery is best effort: changes are dropped when the queue is full or the
+ * statement fails, and subscribers read the current balance when they (re)connect.
+ */
+@Slf4j
+@Component
+public class BalanceChangePublisher {
+
+    public static final String CHANNEL = "wallet_balance_changes";
+
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify('" + CHANNEL + "', payload) FROM unnest(?::text[]) AS payload";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    private final long windowNanos;
+
+    private final BlockingQueue<String> pending;
+
+    private final Counter published;
+
+    private final Counter dropped;
+
+    private Thread publisher;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public BalanceChangePublisher(BalanceStreamProps props, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = props.isEnabled();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(props.getPublishWindowMs());
+        this.pending = new ArrayBlockingQueue<>(props.getPublishQueueCapacity());
+        this.published = Counter.builder("wallet.balance.stream.published")
+                .description("Balance changes sent to the notification channel")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("wallet.balance.stream.publish.dropped")
+                .description("Balance changes lost because the publish queue was full or NOTIFY failed")
+                .register(meterRegistry);
+
+        if (enabled) {
+            publisher = new Thread(this::publishLoop, "wallet-balance-publisher");
+            publisher.setDaemon(true);
+            publisher.start();
+        }
+    }
+
+    /**
+     * Queues the change once the surrounding transaction commits, or right away when there is none.
+     */
+    public void publishAfterCommit(UUID walletId, BigDecimal balance, long version) {
+        if (!enabled) {
+            return;
+        }
+        String change = walletId + "," + balance.toPlainString() + "," + version;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(change);
+            }
+        });
+    }
+
+    private void enqueue(String change) {
+        if (!pending.offer(change)) {
+            dropped.increment();
+        }
+    }
+
+    private void publishLoop() {
+        List<String> changes = new ArrayList<>();
+        while (running) {
+            try {
+                String first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                changes.add(first);
+
+                long deadline = System.nanoTime() + windowNanos;
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    String next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    changes.add(next);
+                }
+                pending.drainTo(changes);
+
+                publish(changes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                changes.clear();
+            }
+        }
+    }
+
+    private void publish(List<String> changes) {
+        String[] payloads = pack(changes);
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+                    statement.setArray(1, connection.createArrayOf("text", payloads));
+                    statement.execute();
+                }
+                return null;
+            });
+            published.increment(changes.size());
+        } catch (DataAccessException e) {
+            dropped.increment(changes.size());
+            log.warn("Publishing {} balance changes failed. Cause: {}", changes.size(), e.getMessage());
+        }
+    }
+
+    static String[] pack(List<String> changes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(MAX_PAYLOAD_LENGTH);
+        for (String change : changes) {
+            if (!payload.isEmpty() && payload.length() + 1 + change.length() > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) {
+                payload.append('\n');
+            }
+            payload.append(change);
+        }
+        if (!payload.isEmpty()) {
+            payloads.add(payload.toString());
+        }
+        return payloads.toArray(String[]::new);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (publisher != null) {
+            publisher.join(1000);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.balance-stream")
+public class BalanceStreamProps {
+
+    /**
+     * Publishes committed balance changes and serves subscriptions. Read once at startup.
+     */
+    private boolean enabled = false;
+
+    private int maxSubscribers = 10000;
+
+    /**
+     * Wallet ids one subscription may follow. The snapshot of all of them is read with one query.
+     */
+    private int maxWallets = 100;
+
+    /**
+     * Events buffered per subscriber; a subscriber that falls this far behind is disconnected.
+     */
+    private int bufferSize = 64;
+
+    private int senderThreads = 4;
+
+    /**
+     * Committed changes are collected for up to this long and sent with one NOTIFY statement.
+     */
+    private long publishWindowMs = 10;
+
+    private int publishQueueCapacity = 65536;
+
+    private long heartbeatIntervalMs = 15000;
+
+    /**
+     * Subscriptions are closed after this long; the client reconnects and gets fresh balances.
+     */
+    private long timeoutMs = 1800000;
+
+    private long reconnectBackoffMs = 1000;
+}
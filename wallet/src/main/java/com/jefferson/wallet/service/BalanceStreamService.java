@@ -0,0 +1,17 @@
+package com.jefferson.wallet.service;
+
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface BalanceStreamService {
+
+    /**
+     * Sends the current balance of every wallet, then each committed change until the client disconnects,
+     * falls {@code buffer-size} events behind or the subscription times out. More than {@code max-wallets}
+     * ids are rejected, and so is the whole subscription if any wallet is unknown or deleted.
+     */
+    SseEmitter subscribe(@NotEmpty(message = "At least one wallet id is required") Set<UUID> walletIds);
+}
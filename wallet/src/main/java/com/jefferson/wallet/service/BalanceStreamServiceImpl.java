@@ -0,0 +1,286 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.exceptions.BalanceStreamTooLargeException;
+import com.jefferson.wallet.exceptions.BalanceStreamUnavailableException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import com.jefferson.wallet.model.Wallet;
+import com.jefferson.wallet.repository.WalletRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Fans committed balance changes out to SSE subscribers. Every instance listens on
+ * {@link BalanceChangePublisher#CHANNEL} over its own connection, outside the pool, so a change committed
+ * anywhere reaches the subscribers of every instance. Notifications sent while the connection was down are
+ * lost; after reconnecting the listener re-reads the balances of all subscribed wallets instead.
+ */
+@Slf4j
+@Service
+@Validated
+public class BalanceStreamServiceImpl implements BalanceStreamService {
+
+    private static final String CURRENT_BALANCES_SQL =
+            "SELECT id, balance, version FROM wallets WHERE is_active = true AND id = ANY (?)";
+
+    private static final int RESYNC_CHUNK_SIZE = 1000;
+
+    private final BalanceStreamProps props;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final WalletRepository walletRepository;
+
+    private final ActiveWalletFilter activeWalletFilter;
+
+    private final Map<UUID, Set<BalanceSubscription>> subscriptionsByWallet = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ExecutorService sender;
+
+    private final Counter dropped;
+
+    private Thread listener;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public BalanceStreamServiceImpl(BalanceStreamProps props,
+                                    DataSourceProperties dataSourceProperties,
+                                    WalletRepository walletRepository,
+                                    ActiveWalletFilter activeWalletFilter,
+                                    MeterRegistry meterRegistry) {
+        this.props = props;
+        this.dataSourceProperties = dataSourceProperties;
+        this.walletRepository = walletRepository;
+        this.activeWalletFilter = activeWalletFilter;
+        this.sender = Executors.newFixedThreadPool(props.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "wallet-balance-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dropped = Counter.builder("wallet.balance.stream.dropped")
+                .description("Subscribers disconnected because they fell too far behind")
+                .register(meterRegistry);
+        Gauge.builder("wallet.balance.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open balance stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListener() {
+        if (!props.isEnabled()) {
+            return;
+        }
+        listener = new Thread(this::listenLoop, "wallet-balance-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public SseEmitter subscribe(Set<UUID> walletIds) {
+        if (!props.isEnabled()) {
+            throw new BalanceStreamUnavailableException("Balance stream is disabled");
+        }
+        if (walletIds.size() > props.getMaxWallets()) {
+            throw new BalanceStreamTooLargeException("Balance stream of " + walletIds.size() +
+                    " wallets exceeds maximum of " + props.getMaxWallets());
+        }
+        for (UUID walletId : walletIds) {
+            if (activeWalletFilter.isDefinitelyAbsent(walletId)) {
+                throw new WalletNotFoundException("Balance stream request: wallet not found for id: " + walletId);
+            }
+        }
+        if (subscriberCount.incrementAndGet() > props.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new BalanceStreamUnavailableException("Too many balance stream subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(props.getTimeoutMs());
+        // room for the snapshot on top of the regular buffer
+        BalanceSubscription subscription = new BalanceSubscription(Set.copyOf(walletIds), emitter,
+                props.getBufferSize() + walletIds.size(), sender);
+        emitter.onCompletion(() -> unregister(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unregister(subscription));
+
+        // registered before the snapshot, so a change committed in between isn't missed
+        for (UUID walletId : subscription.walletIds()) {
+            subscriptionsByWallet.compute(walletId, (id, subscriptions) -> {
+                Set<BalanceSubscription> registered = subscriptions == null ? ConcurrentHashMap.newKeySet() : subscriptions;
+                registered.add(subscription);
+                return registered;
+            });
+        }
+        try {
+            List<Wallet> wallets = walletRepository.findActiveByIds(subscription.walletIds());
+            if (wallets.size() < subscription.walletIds().size()) {
+                Set<UUID> found = wallets.stream().map(Wallet::getId).collect(Collectors.toSet());
+                UUID missing = subscription.walletIds().stream().filter(walletId -> !found.contains(walletId))
+                        .findFirst().orElseThrow();
+                throw new WalletNotFoundException("Balance stream request: wallet not found for id: " + missing);
+            }
+            for (Wallet wallet : wallets) {
+                subscription.offer(BalanceDto.buildBalanceDto(wallet.getId(), wallet.getBalance().toBigDecimal(),
+                        wallet.getVersion()));
+            }
+        } catch (RuntimeException e) {
+            unregister(subscription);
+            throw e;
+        }
+
+        log.debug("Balance stream subscription opened. Wallets: {}.", subscription.walletIds().size());
+        return emitter;
+    }
+
+    void dispatch(BalanceDto balance) {
+        Set<BalanceSubscription> subscriptions = subscriptionsByWallet.get(balance.walletId());
+        if (subscriptions == null) {
+            return;
+        }
+        for (BalanceSubscription subscription : subscriptions) {
+            if (!subscription.offer(balance)) {
+                drop(subscription);
+            }
+        }
+    }
+
+    private void listenLoop() {
+        long nextHeartbeat = System.currentTimeMillis() + props.getHeartbeatIntervalMs();
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BalanceChangePublisher.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                resync(connection);
+                log.info("Listening for balance changes. Subscribers: {}.", subscriberCount.get());
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatchPayload(notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() >= nextHeartbeat) {
+                        heartbeat();
+                        nextHeartbeat = System.currentTimeMillis() + props.getHeartbeatIntervalMs();
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Balance change listener disconnected, retrying in {} ms. Cause: {}",
+                        props.getReconnectBackoffMs(), e.getMessage());
+                try {
+                    Thread.sleep(props.getReconnectBackoffMs());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatchPayload(String payload) {
+        for (String change : payload.split("\n")) {
+            String[] fields = change.split(",");
+            if (fields.length != 3) {
+                log.warn("Skipping malformed balance change: {}", change);
+                continue;
+            }
+            dispatch(BalanceDto.buildBalanceDto(UUID.fromString(fields[0]), new BigDecimal(fields[1]),
+                    Long.parseLong(fields[2])));
+        }
+    }
+
+    private void resync(Connection connection) throws SQLException {
+        List<UUID> walletIds = new ArrayList<>(subscriptionsByWallet.keySet());
+        for (int from = 0; from < walletIds.size(); from += RESYNC_CHUNK_SIZE) {
+            List<UUID> chunk = walletIds.subList(from, Math.min(from + RESYNC_CHUNK_SIZE, walletIds.size()));
+            try (PreparedStatement statement = connection.prepareStatement(CURRENT_BALANCES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("uuid", chunk.toArray()));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        dispatch(BalanceDto.buildBalanceDto(resultSet.getObject("id", UUID.class),
+                                resultSet.getBigDecimal("balance"), resultSet.getLong("version")));
+                    }
+                }
+            }
+        }
+    }
+
+    private void heartbeat() {
+        subscriptionsByWallet.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .filter(subscription -> !subscription.offerHeartbeat())
+                .toList()
+                .forEach(this::drop);
+    }
+
+    private void drop(BalanceSubscription subscription) {
+        if (subscription.isClosed()) {
+            return;
+        }
+        dropped.increment();
+        log.debug("Dropping slow balance stream subscriber. Wallets: {}.", subscription.walletIds().size());
+        unregister(subscription);
+        subscription.emitter().complete();
+    }
+
+    private void unregister(BalanceSubscription subscription) {
+        if (!subscription.close()) {
+            return;
+        }
+        for (UUID walletId : subscription.walletIds()) {
+            subscriptionsByWallet.computeIfPresent(walletId, (id, subscriptions) -> {
+                subscriptions.remove(subscription);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(2000);
+        }
+        sender.shutdown();
+        sender.awaitTermination(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,123 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE client. Events go through a bounded buffer that a sender thread drains, so a slow client
+ * never blocks the notification listener; when the buffer is full the offer fails and the caller
+ * disconnects the client. A balance at or below the version already sent for that wallet is skipped,
+ * which hides the overlap between the initial snapshot and notifications.
+ */
+class BalanceSubscription {
+
+    private final Set<UUID> walletIds;
+
+    private final SseEmitter emitter;
+
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+
+    private final Executor sender;
+
+    private final Map<UUID, Long> sentVersions = new HashMap<>();
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    BalanceSubscription(Set<UUID> walletIds, SseEmitter emitter, int bufferSize, Executor sender) {
+        this.walletIds = walletIds;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+    }
+
+    Set<UUID> walletIds() {
+        return walletIds;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * @return false when the buffer is full
+     */
+    synchronized boolean offer(BalanceDto balance) {
+        Long sent = sentVersions.get(balance.walletId());
+        if (sent != null && balance.version() != null && balance.version() <= sent) {
+            return true;
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name("balance")
+                .data(balance, MediaType.APPLICATION_JSON);
+        if (balance.version() != null) {
+            event.id(balance.walletId() + ":" + balance.version());
+        }
+        if (!enqueue(event)) {
+            return false;
+        }
+        if (balance.version() != null) {
+            sentVersions.put(balance.walletId(), balance.version());
+        }
+        return true;
+    }
+
+    boolean offerHeartbeat() {
+        return enqueue(SseEmitter.event().comment("heartbeat"));
+    }
+
+    /**
+     * @return true for the first call only
+     */
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    private boolean enqueue(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return true;
+        }
+        if (!buffer.offer(event)) {
+            return false;
+        }
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+        return true;
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away; the emitter's error callback unregisters it
+            buffer.clear();
+            emitter.completeWithError(e);
+            return;
+        } finally {
+            draining.set(false);
+        }
+        if (!buffer.isEmpty() && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.TransactionRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public interface BatchPaymentService {
+
+    /**
+     * @return one outcome per request, in request order
+     */
+    List<TransactionOutcome> processBatch(@NotEmpty(message = "Transaction requests mustn't be empty")
+                                          List<@NotNull(message = "Transaction request mustn't be null")
+                                               @Valid TransactionRequest> transactionRequests);
+}
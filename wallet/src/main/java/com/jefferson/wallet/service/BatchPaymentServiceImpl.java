@@ -0,0 +1,90 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.exceptions.BatchTooLargeException;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@Validated
+public class BatchPaymentServiceImpl implements BatchPaymentService {
+
+    private final TransactionBatchProcessor batchProcessor;
+
+    private final PaymentService paymentService;
+
+    private final IdempotencyIndex idempotencyIndex;
+
+    private final PaymentMetrics paymentMetrics;
+
+    private final PaymentServiceProps props;
+
+    @Autowired
+    public BatchPaymentServiceImpl(TransactionBatchProcessor batchProcessor,
+                                   @Qualifier("paymentServiceImpl") PaymentService paymentService,
+                                   IdempotencyIndex idempotencyIndex,
+                                   PaymentMetrics paymentMetrics,
+                                   PaymentServiceProps props) {
+        this.batchProcessor = batchProcessor;
+        this.paymentService = paymentService;
+        this.idempotencyIndex = idempotencyIndex;
+        this.paymentMetrics = paymentMetrics;
+        this.props = props;
+    }
+
+    @Override
+    public List<TransactionOutcome> processBatch(@NotEmpty(message = "Transaction requests mustn't be empty")
+                                                 List<@NotNull(message = "Transaction request mustn't be null")
+                                                      @Valid TransactionRequest> transactionRequests) {
+
+        log.debug("Batch processing started. Size: {}.", transactionRequests.size());
+
+        if(transactionRequests.size() > props.getBatchMaxSize()) {
+            throw new BatchTooLargeException("Batch size " + transactionRequests.size() +
+                    " exceeds maximum of " + props.getBatchMaxSize());
+        }
+
+        Timer.Sample sample = paymentMetrics.startTimer();
+        List<TransactionOutcome> outcomes;
+        try {
+            outcomes = batchProcessor.applyBatch(transactionRequests);
+            // every item is timed as the whole batch, which is how long its caller waited
+            for (int i = 0; i < outcomes.size(); i++) {
+                paymentMetrics.record(sample, transactionRequests.get(i).operationType(),
+                        PaymentMetrics.outcomeOf(outcomes.get(i)));
+            }
+        } catch (DuplicateKeyException e) {
+            log.debug("Batch contains a used idempotency key, processing items one by one.");
+            outcomes = processOneByOne(transactionRequests);
+        }
+
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i) instanceof TransactionOutcome.Applied applied) {
+                idempotencyIndex.remember(transactionRequests.get(i), applied.balance());
+            }
+        }
+
+        log.debug("Batch processing finished. Size: {}.", transactionRequests.size());
+        return outcomes;
+    }
+
+    private List<TransactionOutcome> processOneByOne(List<TransactionRequest> transactionRequests) {
+        List<TransactionOutcome> outcomes = new ArrayList<>(transactionRequests.size());
+        for (TransactionRequest request : transactionRequests) {
+            outcomes.add(paymentService.process(request));
+        }
+        return outcomes;
+    }
+}
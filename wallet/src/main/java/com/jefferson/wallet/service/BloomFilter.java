@@ -0,0 +1,83 @@
+package com.jefferson.wallet.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over UUIDs. Bits are only ever set, so concurrent {@link #put} and
+ * {@link #mightContain} need no locking beyond the atomic word updates.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    BloomFilter(long bitCount, int hashCount) {
+        int wordCount = (int) Math.max(1, (bitCount + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, hashCount);
+    }
+
+    /**
+     * Sized for {@code expectedItems} at {@code falsePositiveRate}, but never above {@code maxBits}.
+     */
+    static BloomFilter create(long expectedItems, double falsePositiveRate, long maxBits) {
+        long items = Math.max(1, expectedItems);
+        long optimalBits = (long) Math.ceil(-items * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long bits = Math.max(64, Math.min(optimalBits, maxBits));
+        int hashes = (int) Math.max(1, Math.round((double) bits / items * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(UUID id) {
+        long hash1 = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+        long hash2 = mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L * id.getMostSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(UUID id) {
+        long hash1 = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+        long hash2 = mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L * id.getMostSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Expected false positive rate after {@code items} insertions.
+     */
+    double falsePositiveRate(long items) {
+        return Math.pow(1 - Math.exp(-(double) hashCount * items / bitCount), hashCount);
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    // SplitMix64 finalizer: UUIDv7 high bits are a timestamp, so they need spreading before use
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
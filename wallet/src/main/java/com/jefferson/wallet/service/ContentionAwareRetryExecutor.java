@@ -0,0 +1,115 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.exceptions.TransactionRetryExhaustedException;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs a transactional unit of work from outside the transaction, so a stale {@code Wallet.version}
+ * detected at flush or commit is actually retried. Attempts back off exponentially with full jitter.
+ * Wallets that keep conflicting are switched to the pessimistic path for {@code pessimistic-hold-ms}.
+ */
+@Slf4j
+@Component
+public class ContentionAwareRetryExecutor {
+
+    private static final class ContentionState {
+        private final AtomicInteger conflicts = new AtomicInteger();
+        private volatile long pessimisticUntil;
+    }
+
+    private final PaymentServiceProps props;
+
+    private final PaymentMetrics paymentMetrics;
+
+    private final ConcurrentHashMap<UUID, ContentionState> contention = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ContentionAwareRetryExecutor(PaymentServiceProps props, PaymentMetrics paymentMetrics) {
+        this.props = props;
+        this.paymentMetrics = paymentMetrics;
+    }
+
+    /**
+     * @param unit transactional unit of work; receives {@code true} when it should lock the wallet row pessimistically
+     */
+    public <T> T execute(UUID walletId, Function<Boolean, T> unit) {
+        final int retries = props.getMaxRetry();
+        int retryCount = 0;
+        while (true) {
+            boolean pessimistic = isPessimistic(walletId);
+            try {
+                log.debug("Transaction processing try: {}. WalletId: {}, pessimistic: {}.", retryCount, walletId, pessimistic);
+                T result = unit.apply(pessimistic);
+                recordSuccess(walletId);
+                return result;
+            } catch (ConcurrencyFailureException | OptimisticLockException e) {
+                log.debug("Transaction concurrency conflict. WalletId: {}, try: {}.", walletId, retryCount);
+                recordConflict(walletId);
+                if (++retryCount > retries) {
+                    paymentMetrics.retriesExhausted();
+                    throw new TransactionRetryExhaustedException("Too many retries, failed to process transaction", e);
+                }
+                backOff(retryCount);
+            }
+        }
+    }
+
+    public boolean isPessimistic(UUID walletId) {
+        ContentionState state = contention.get(walletId);
+        return state != null && System.nanoTime() - state.pessimisticUntil < 0;
+    }
+
+    private void recordConflict(UUID walletId) {
+        paymentMetrics.conflict();
+        ContentionState state = contention.get(walletId);
+        if (state == null) {
+            if (contention.size() >= props.getContentionTrackingLimit()) {
+                return;
+            }
+            state = contention.computeIfAbsent(walletId, id -> new ContentionState());
+        }
+        if (state.conflicts.incrementAndGet() >= props.getPessimisticThreshold()) {
+            state.conflicts.set(0);
+            state.pessimisticUntil = System.nanoTime() + props.getPessimisticHoldMs() * 1_000_000L;
+            paymentMetrics.pessimisticSwitch();
+            log.debug("Wallet switched to pessimistic locking. WalletId: {}.", walletId);
+        }
+    }
+
+    private void recordSuccess(UUID walletId) {
+        ContentionState state = contention.get(walletId);
+        if (state == null) {
+            return;
+        }
+        if (state.conflicts.get() > 0) {
+            state.conflicts.decrementAndGet();
+        }
+        if (state.conflicts.get() <= 0 && System.nanoTime() - state.pessimisticUntil >= 0) {
+            contention.remove(walletId, state);
+        }
+    }
+
+    private void backOff(int retryCount) {
+        long ceiling = Math.min(props.getRetryBackoffMaxMs(),
+                props.getRetryBackoffBaseMs() << Math.min(retryCount - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionRetryExhaustedException("Interrupted while backing off, failed to process transaction", e);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.exceptions.PaymentEngineOverloadedException;
+import com.jefferson.wallet.exceptions.TransactionOutcomeUnknownException;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Collects concurrent requests for up to {@code group-commit-window-ms} or {@code group-commit-max-batch}
+ * requests and applies them with one commit through {@link TransactionBatchProcessor}.
+ * Every caller still gets its own outcome. A caller that stops waiting takes its request back from the queue and
+ * gets 503; if a flusher already picked it up the caller gets {@link TransactionOutcomeUnknownException} instead.
+ */
+@Slf4j
+@Service
+@Primary
+@Validated
+@ConditionalOnProperty(prefix = "wallet.transaction.engine", name = "mode", havingValue = "group-commit")
+public class GroupCommitPaymentServiceImpl implements PaymentService {
+
+    private record PendingTransaction(TransactionRequest request, CompletableFuture<TransactionOutcome> result,
+                                      Timer.Sample sample) {
+    }
+
+    private final PaymentService delegate;
+
+    private final TransactionBatchProcessor batchProcessor;
+
+    private final IdempotencyIndex idempotencyIndex;
+
+    private final ActiveWalletFilter activeWalletFilter;
+
+    private final PaymentMetrics paymentMetrics;
+
+    private final BlockingQueue<PendingTransaction> queue;
+
+    private final List<Thread> flushers = new ArrayList<>();
+
+    private final long windowNanos;
+
+    private final int maxBatch;
+
+    private final long timeoutMs;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public GroupCommitPaymentServiceImpl(@Qualifier("paymentServiceImpl") PaymentService delegate,
+                                         TransactionBatchProcessor batchProcessor,
+                                         IdempotencyIndex idempotencyIndex,
+                                         ActiveWalletFilter activeWalletFilter,
+                                         PaymentMetrics paymentMetrics,
+                                         PaymentEngineProps engineProps) {
+        this.delegate = delegate;
+        this.batchProcessor = batchProcessor;
+        this.idempotencyIndex = idempotencyIndex;
+        this.activeWalletFilter = activeWalletFilter;
+        this.paymentMetrics = paymentMetrics;
+        this.queue = new ArrayBlockingQueue<>(engineProps.getGroupCommitQueueCapacity());
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(engineProps.getGroupCommitWindowMs());
+        this.maxBatch = engineProps.getGroupCommitMaxBatch();
+        this.timeoutMs = engineProps.getLaneTimeoutMs();
+
+        for (int i = 0; i < engineProps.getGroupCommitFlushers(); i++) {
+            Thread flusher = new Thread(this::flushLoop, "wallet-group-commit-" + i);
+            flusher.setDaemon(true);
+            flusher.start();
+            flushers.add(flusher);
+        }
+        log.info("Group commit payment engine started. Window: {} ms, max batch: {}, flushers: {}.",
+                engineProps.getGroupCommitWindowMs(), maxBatch, flushers.size());
+    }
+
+    @Override
+    public TransactionOutcome process(@NotNull(message = "Transaction request mustn't be null")
+                                      @Valid TransactionRequest transactionRequest) {
+
+        Timer.Sample sample = paymentMetrics.startTimer();
+        Optional<TransactionOutcome> replay = idempotencyIndex.find(transactionRequest);
+        if (replay.isPresent()) {
+            paymentMetrics.record(sample, transactionRequest.operationType(), PaymentMetrics.outcomeOf(replay.get()));
+            return replay.get();
+        }
+        if (activeWalletFilter.isDefinitelyAbsent(transactionRequest.walletId())) {
+            paymentMetrics.record(sample, transactionRequest.operationType(), PaymentMetrics.Outcome.NOT_FOUND);
+            return new TransactionOutcome.WalletNotFound(transactionRequest.walletId());
+        }
+
+        PendingTransaction pending = new PendingTransaction(transactionRequest, new CompletableFuture<>(), sample);
+        if (!queue.offer(pending)) {
+            throw new PaymentEngineOverloadedException("Group commit queue is full. WalletId: " + transactionRequest.walletId());
+        }
+
+        try {
+            return pending.result().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            return abandon(pending, "Group commit timed out. WalletId: ");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(pending, "Interrupted while waiting for group commit. WalletId: ");
+        }
+    }
+
+    private TransactionOutcome abandon(PendingTransaction pending, String message) {
+        UUID walletId = pending.request().walletId();
+        if (queue.remove(pending)) {
+            throw new PaymentEngineOverloadedException(message + walletId);
+        }
+        if (pending.result().isDone()) {
+            // completed right after the wait gave up
+            try {
+                return pending.result().get();
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        throw new TransactionOutcomeUnknownException("Operation on wallet " + walletId +
+                " is already being applied, its outcome is unknown. Check the balance or retry with the same idempotency key");
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private void flushLoop() {
+        List<PendingTransaction> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                PendingTransaction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatch - batch.size());
+                        break;
+                    }
+                    PendingTransaction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingTransaction> batch) {
+        List<TransactionRequest> requests = batch.stream().map(PendingTransaction::request).toList();
+        try {
+            List<TransactionOutcome> outcomes = batchProcessor.applyBatch(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                TransactionOutcome outcome = outcomes.get(i);
+                if (outcome instanceof TransactionOutcome.Applied applied) {
+                    idempotencyIndex.remember(requests.get(i), applied.balance());
+                }
+                paymentMetrics.record(batch.get(i).sample(), requests.get(i).operationType(),
+                        PaymentMetrics.outcomeOf(outcome));
+                batch.get(i).result().complete(outcome);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} requests failed, falling back to single requests. Cause: {}",
+                    batch.size(), e.getMessage());
+            // the single path records its own metrics
+            for (PendingTransaction pending : batch) {
+                try {
+                    pending.result().complete(delegate.process(pending.request()));
+                } catch (RuntimeException singleFailure) {
+                    pending.result().completeExceptionally(singleFailure);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread flusher : flushers) {
+            flusher.join(timeoutMs);
+        }
+    }
+}
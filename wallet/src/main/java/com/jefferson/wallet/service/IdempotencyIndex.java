@@ -0,0 +1,56 @@
+package com.jefferson.wallet.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.repository.StoredIdempotencyKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory index of recently committed idempotency keys. It only answers replays;
+ * a miss doesn't mean the key is new, the unique key in the database stays the source of truth.
+ */
+@Component
+public class IdempotencyIndex {
+
+    private final Cache<String, StoredIdempotencyKey> recentKeys;
+
+    @Autowired
+    public IdempotencyIndex(IdempotencyProps props) {
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(props.getRecentKeysSize())
+                .expireAfterWrite(Duration.ofMillis(props.getRecentKeysTtlMs()))
+                .build();
+    }
+
+    /**
+     * @return the stored result when the request repeats a recent key, or a rejection when the key
+     * was used for a different operation
+     */
+    public Optional<TransactionOutcome> find(TransactionRequest request) {
+        if (request.idempotencyKey() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(recentKeys.getIfPresent(request.idempotencyKey()))
+                .map(stored -> replay(stored, request));
+    }
+
+    public void remember(TransactionRequest request, BalanceDto balanceDto) {
+        if (request.idempotencyKey() != null) {
+            recentKeys.put(request.idempotencyKey(),
+                    new StoredIdempotencyKey(request.walletId(), request.operationType(), request.amount(), balanceDto));
+        }
+    }
+
+    static TransactionOutcome replay(StoredIdempotencyKey stored, TransactionRequest request) {
+        if (!stored.matches(request.walletId(), request.operationType(), request.amount())) {
+            return new TransactionOutcome.IdempotencyKeyReused(request.walletId(), request.idempotencyKey());
+        }
+        return new TransactionOutcome.Applied(stored.balance());
+    }
+}
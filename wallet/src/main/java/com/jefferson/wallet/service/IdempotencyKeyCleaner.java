@@ -0,0 +1,48 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Deletes idempotency keys older than {@code retention-ms}. A retry with an expired key is applied again,
+ * so the retention has to outlast any client retry window. Keys go in batches of {@code cleanup-batch-size},
+ * each its own statement, so one run never holds row locks on the whole backlog. Several instances may run
+ * it at the same time; they only delete fewer rows each.
+ */
+@Slf4j
+@Component
+public class IdempotencyKeyCleaner {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final IdempotencyProps props;
+
+    @Autowired
+    public IdempotencyKeyCleaner(IdempotencyKeyRepository idempotencyKeyRepository, IdempotencyProps props) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.props = props;
+    }
+
+    @Scheduled(cron = "${wallet.transaction.idempotency.cleanup-cron:-}")
+    public void deleteExpired() {
+        Instant cutoff = Instant.now().minusMillis(props.getRetentionMs());
+        long deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = idempotencyKeyRepository.deleteExpired(cutoff, props.getCleanupBatchSize());
+                deleted += batch;
+            } while (batch == props.getCleanupBatchSize());
+        } catch (DataAccessException e) {
+            log.error("Idempotency key cleanup failed after {} keys.", deleted, e);
+            return;
+        }
+        log.info("Idempotency key cleanup finished. Keys stored before {} deleted: {}.", cutoff, deleted);
+    }
+}
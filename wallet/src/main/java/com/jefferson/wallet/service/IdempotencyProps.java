@@ -0,0 +1,24 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.transaction.idempotency")
+public class IdempotencyProps {
+
+    private long recentKeysSize = 100000;
+
+    private long recentKeysTtlMs = 600000;
+
+    /**
+     * How long a used key is kept in the database and keeps rejecting a second application.
+     */
+    private long retentionMs = 604800000;
+
+    private int cleanupBatchSize = 10000;
+}
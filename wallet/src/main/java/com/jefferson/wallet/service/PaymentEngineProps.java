@@ -0,0 +1,35 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.transaction.engine")
+public class PaymentEngineProps {
+
+    /**
+     * Processing engine: "direct" (every request runs its own transaction on the caller thread),
+     * "sharded" (requests are routed to single-writer lanes by wallet id)
+     * or "group-commit" (concurrent requests are applied together with one commit).
+     * Read once at startup.
+     */
+    private String mode = "direct";
+
+    private int lanes = 16;
+
+    private int laneQueueCapacity = 1024;
+
+    private long laneTimeoutMs = 30000;
+
+    private long groupCommitWindowMs = 2;
+
+    private int groupCommitMaxBatch = 256;
+
+    private int groupCommitQueueCapacity = 8192;
+
+    private int groupCommitFlushers = 1;
+}
@@ -0,0 +1,111 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.enums.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Meters of the payment paths: single requests, group commit and {@code /wallet/batch}. Timers are registered
+ * up front per operation type and outcome so recording doesn't go through the registry lookup on every request.
+ */
+@Component
+public class PaymentMetrics {
+
+    public enum Outcome {
+        SUCCESS,
+        INSUFFICIENT_FUNDS,
+        NOT_FOUND,
+        IDEMPOTENCY_KEY_REUSED,
+        RETRY_EXHAUSTED,
+        ERROR
+    }
+
+    private final MeterRegistry registry;
+
+    private final Map<OperationType, Map<Outcome, Timer>> timers = new EnumMap<>(OperationType.class);
+
+    private final Counter conflicts;
+
+    private final Counter retriesExhausted;
+
+    private final Counter pessimisticSwitches;
+
+    private final Counter insufficientFunds;
+
+    private final Counter walletNotFound;
+
+    @Autowired
+    public PaymentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (OperationType operationType : OperationType.values()) {
+            Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Timer.builder("wallet.transaction")
+                        .description("Transaction processing time, retries, backoff and batching waits included")
+                        .tag("operation", operationType.name())
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+            timers.put(operationType, byOutcome);
+        }
+        this.conflicts = Counter.builder("wallet.transaction.conflicts")
+                .description("Optimistic lock and other concurrency failures, each one retried or ending in exhaustion")
+                .register(registry);
+        this.retriesExhausted = Counter.builder("wallet.transaction.retries.exhausted")
+                .description("Transactions rejected after max-retry conflicts")
+                .register(registry);
+        this.pessimisticSwitches = Counter.builder("wallet.transaction.pessimistic.switches")
+                .description("Wallets switched to pessimistic locking after repeated conflicts")
+                .register(registry);
+        this.insufficientFunds = Counter.builder("wallet.transaction.insufficient.funds")
+                .register(registry);
+        this.walletNotFound = Counter.builder("wallet.transaction.wallet.not.found")
+                .register(registry);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void record(Timer.Sample sample, OperationType operationType, Outcome outcome) {
+        sample.stop(timers.get(operationType).get(outcome));
+        switch (outcome) {
+            case INSUFFICIENT_FUNDS -> insufficientFunds.increment();
+            case NOT_FOUND -> walletNotFound.increment();
+            default -> {
+            }
+        }
+    }
+
+    public void conflict() {
+        conflicts.increment();
+    }
+
+    public void retriesExhausted() {
+        retriesExhausted.increment();
+    }
+
+    public void pessimisticSwitch() {
+        pessimisticSwitches.increment();
+    }
+
+    public static Outcome outcomeOf(TransactionOutcome outcome) {
+        if (outcome instanceof TransactionOutcome.WalletNotFound) {
+            return Outcome.NOT_FOUND;
+        }
+        if (outcome instanceof TransactionOutcome.InsufficientFunds) {
+            return Outcome.INSUFFICIENT_FUNDS;
+        }
+        if (outcome instanceof TransactionOutcome.IdempotencyKeyReused) {
+            return Outcome.IDEMPOTENCY_KEY_REUSED;
+        }
+        return Outcome.SUCCESS;
+    }
+}
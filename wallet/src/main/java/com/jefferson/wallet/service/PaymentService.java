@@ -6,7 +6,13 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
 public interface PaymentService {
-    BalanceDto processTransaction(@NotNull(message = "Transaction request mustn't be null")
-                                  @Valid
-                                  TransactionRequest transactionRequest);
+    TransactionOutcome process(@NotNull(message = "Transaction request mustn't be null")
+                               @Valid
+                               TransactionRequest transactionRequest);
+
+    default BalanceDto processTransaction(@NotNull(message = "Transaction request mustn't be null")
+                                          @Valid
+                                          TransactionRequest transactionRequest) {
+        return process(transactionRequest).getOrThrow();
+    }
 }
@@ -3,19 +3,25 @@ package com.jefferson.wallet.service;
 import com.jefferson.wallet.dto.BalanceDto;
 import com.jefferson.wallet.dto.TransactionRequest;
 import com.jefferson.wallet.enums.OperationType;
-import com.jefferson.wallet.exceptions.InsufficientFundsException;
-import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import com.jefferson.wallet.enums.PersistenceStrategy;
+import com.jefferson.wallet.exceptions.TransactionRetryExhaustedException;
+import com.jefferson.wallet.model.Money;
 import com.jefferson.wallet.model.Transaction;
 import com.jefferson.wallet.model.Wallet;
+import com.jefferson.wallet.repository.IdempotencyKeyRepository;
+import com.jefferson.wallet.repository.LedgerUpdateResult;
 import com.jefferson.wallet.repository.TransactionRepository;
+import com.jefferson.wallet.repository.WalletLedgerRepository;
 import com.jefferson.wallet.repository.WalletRepository;
-import jakarta.persistence.OptimisticLockException;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
@@ -34,90 +40,178 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final WalletRepository walletRepository;
 
+    private final WalletLedgerRepository walletLedgerRepository;
+
+    private final ContentionAwareRetryExecutor retryExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BalanceCache balanceCache;
+
+    private final BalanceChangePublisher balanceChangePublisher;
+
+    private final IdempotencyIndex idempotencyIndex;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final PaymentMetrics paymentMetrics;
+
+    private final ActiveWalletFilter activeWalletFilter;
+
     @Autowired
     public PaymentServiceImpl(TransactionRepository transactionRepository,
                           WalletRepository walletRepository,
+                              WalletLedgerRepository walletLedgerRepository,
+                              ContentionAwareRetryExecutor retryExecutor,
+                              PlatformTransactionManager transactionManager,
+                              BalanceCache balanceCache,
+                              BalanceChangePublisher balanceChangePublisher,
+                              IdempotencyIndex idempotencyIndex,
+                              IdempotencyKeyRepository idempotencyKeyRepository,
+                              PaymentMetrics paymentMetrics,
+                              ActiveWalletFilter activeWalletFilter,
                               PaymentServiceProps props) {
         this.transactionRepository = transactionRepository;
         this.walletRepository = walletRepository;
+        this.walletLedgerRepository = walletLedgerRepository;
+        this.retryExecutor = retryExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.balanceCache = balanceCache;
+        this.balanceChangePublisher = balanceChangePublisher;
+        this.idempotencyIndex = idempotencyIndex;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.paymentMetrics = paymentMetrics;
+        this.activeWalletFilter = activeWalletFilter;
         this.props = props;
     }
 
     @Override
-    @Transactional
-    public BalanceDto processTransaction(@NotNull(message = "Transaction request mustn't be null")
-                                       @Valid TransactionRequest transactionRequest) {
-
-        log.debug("Transaction processing started. WalletId: {}, Operation type: {}, Amount: {}.",
-                transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
-
-        int retryCount = 0;
-        BalanceDto balanceDto = null;
-        final int retries = props.getMaxRetry();
-        while (true) {
-            try {
-                log.debug("Transaction processing try: {}. " +
-                                "WalletId: {}, Operation type: {}, Amount: {}. ",
-                        retryCount, transactionRequest.walletId(), transactionRequest.operationType(),
-                        transactionRequest.amount());
-                balanceDto = doProcess(transactionRequest);
-                break;
-            } catch (OptimisticLockException e) {
-                log.debug("Transaction optimistic locking exception. " +
-                                "WalletId: {}, Operation type: {}, Amount: {}.",
-                        transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
-                if (++retryCount > retries) {
-                    throw new RuntimeException("Too many retries, failed to process transaction", e);
-                }
-            }
+    public TransactionOutcome process(@NotNull(message = "Transaction request mustn't be null")
+                                      @Valid TransactionRequest transactionRequest) {
+
+        Timer.Sample sample = paymentMetrics.startTimer();
+        PaymentMetrics.Outcome metricOutcome = PaymentMetrics.Outcome.ERROR;
+        try {
+            TransactionOutcome outcome = processIdempotently(transactionRequest);
+            metricOutcome = PaymentMetrics.outcomeOf(outcome);
+            return outcome;
+        } catch (TransactionRetryExhaustedException e) {
+            metricOutcome = PaymentMetrics.Outcome.RETRY_EXHAUSTED;
+            throw e;
+        } finally {
+            paymentMetrics.record(sample, transactionRequest.operationType(), metricOutcome);
+        }
+    }
+
+    private TransactionOutcome processIdempotently(TransactionRequest transactionRequest) {
+        Optional<TransactionOutcome> replay = idempotencyIndex.find(transactionRequest);
+        if (replay.isPresent()) {
+            log.debug("Transaction replay answered from recent keys. Idempotency key: {}.",
+                    transactionRequest.idempotencyKey());
+            return replay.get();
+        }
+        if (activeWalletFilter.isDefinitelyAbsent(transactionRequest.walletId())) {
+            return new TransactionOutcome.WalletNotFound(transactionRequest.walletId());
         }
 
-        log.debug("Transaction processing finished successfully. " +
-                        "WalletId: {}, Operation type: {}, Amount: {}.",
-                transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
-        return balanceDto;
+        TransactionOutcome outcome;
+        try {
+            outcome = apply(transactionRequest);
+        } catch (DuplicateKeyException e) {
+            outcome = IdempotencyIndex.replay(
+                    idempotencyKeyRepository.find(transactionRequest.idempotencyKey()).orElseThrow(() -> e),
+                    transactionRequest);
+            log.debug("Transaction replay answered from stored key. Idempotency key: {}.",
+                    transactionRequest.idempotencyKey());
+        }
+        if (outcome instanceof TransactionOutcome.Applied applied) {
+            idempotencyIndex.remember(transactionRequest, applied.balance());
+        }
+        return outcome;
+    }
+
+    private TransactionOutcome apply(TransactionRequest transactionRequest) {
+        if (props.getPersistence() == PersistenceStrategy.ATOMIC_SQL) {
+            return transactionTemplate.execute(status -> doProcessAtomic(transactionRequest));
+        }
+
+        TransactionOutcome outcome = retryExecutor.execute(transactionRequest.walletId(),
+                pessimistic -> transactionTemplate.execute(status -> doProcess(transactionRequest, pessimistic)));
+        if (outcome instanceof TransactionOutcome.Applied) {
+            log.debug("Transaction processing finished successfully. WalletId: {}, Operation type: {}.",
+                    transactionRequest.walletId(), transactionRequest.operationType());
+        }
+        return outcome;
     }
 
-    private BalanceDto doProcess(TransactionRequest transactionRequest) {
-        Optional<Wallet> wallet = walletRepository.findActiveById(transactionRequest.walletId());
+    private TransactionOutcome doProcess(TransactionRequest transactionRequest, boolean pessimistic) {
+        Optional<Wallet> wallet = pessimistic
+                ? walletRepository.findActiveByIdForUpdate(transactionRequest.walletId())
+                : walletRepository.findActiveById(transactionRequest.walletId());
         if(wallet.isEmpty()) {
             log.debug("Transaction processing failed: wallet not found." +
                             " WalletId: {}, Operation type: {}, Amount: {}",
                     transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
-            throw new WalletNotFoundException("Wallet not found for id: " + transactionRequest.walletId());
+            return new TransactionOutcome.WalletNotFound(transactionRequest.walletId());
         }
 
         Wallet existWallet = wallet.get();
+        Money amount = Money.of(transactionRequest.amount());
         if(transactionRequest.operationType().equals(OperationType.WITHDRAW)) {
-            if(existWallet.getBalance().compareTo(transactionRequest.amount()) < 0) {
+            if(existWallet.getBalance().isLessThan(amount)) {
                 log.debug("Transaction processing failed: insufficient funds." +
                                 " WalletId: {}, Operation type: {}, Amount: {}.",
                         transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
-                throw new InsufficientFundsException("Insufficient funds for wallet with id: " + transactionRequest.walletId() +
-                        ". Transaction amount: " + transactionRequest.amount() +
-                        ". Transaction type: " + transactionRequest.operationType());
+                return new TransactionOutcome.InsufficientFunds(transactionRequest.walletId(),
+                        transactionRequest.amount(), transactionRequest.operationType());
             }
             else {
-                existWallet.setBalance(existWallet.getBalance().subtract(transactionRequest.amount()));
+                existWallet.setBalance(existWallet.getBalance().minus(amount));
             }
         }
         else {
-            existWallet.setBalance(existWallet.getBalance().add(transactionRequest.amount()));
+            existWallet.setBalance(existWallet.getBalance().plus(amount));
         }
 
-        log.debug("Transaction processing: balance changed successfully. " +
-                        "WalletId: {}, Operation type: {}, Amount: {}.",
-                transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
-
         transactionRepository.save(buildTransaction(transactionRequest.walletId(),
                 transactionRequest.operationType(), transactionRequest.amount()));
-        walletRepository.save(existWallet);
-
-        return BalanceDto.buildBalanceDto(existWallet.getId(), existWallet.getBalance());
+        if (transactionRequest.idempotencyKey() != null) {
+            idempotencyKeyRepository.insert(transactionRequest.idempotencyKey(), existWallet.getId(),
+                    transactionRequest.operationType(), transactionRequest.amount(), existWallet.getBalance().toBigDecimal());
+        }
+        Wallet saved = walletRepository.save(existWallet);
+        // the version is incremented when the update is flushed at commit
+        BigDecimal balance = saved.getBalance().toBigDecimal();
+        balanceCache.putAfterCommit(saved.getId(), balance, saved.getVersion() + 1);
+        balanceChangePublisher.publishAfterCommit(saved.getId(), balance, saved.getVersion() + 1);
+        return new TransactionOutcome.Applied(BalanceDto.buildBalanceDto(saved.getId(), balance, saved.getVersion() + 1));
     }
 
-    public Integer getTransactionMaxRetries() {
-        return props.getMaxRetry();
+    private TransactionOutcome doProcessAtomic(TransactionRequest transactionRequest) {
+        Optional<LedgerUpdateResult> result = walletLedgerRepository.apply(transactionRequest.walletId(),
+                transactionRequest.operationType(), transactionRequest.amount(), transactionRequest.idempotencyKey());
+        if(result.isEmpty()) {
+            log.debug("Atomic transaction processing failed: wallet not found." +
+                            " WalletId: {}, Operation type: {}, Amount: {}",
+                    transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
+            return new TransactionOutcome.WalletNotFound(transactionRequest.walletId());
+        }
+        if(!result.get().applied()) {
+            balanceCache.put(transactionRequest.walletId(), result.get().balance(), result.get().version());
+            log.debug("Atomic transaction processing failed: insufficient funds." +
+                            " WalletId: {}, Operation type: {}, Amount: {}.",
+                    transactionRequest.walletId(), transactionRequest.operationType(), transactionRequest.amount());
+            return new TransactionOutcome.InsufficientFunds(transactionRequest.walletId(),
+                    transactionRequest.amount(), transactionRequest.operationType());
+        }
+
+        log.debug("Atomic transaction processing finished successfully. WalletId: {}, Operation type: {}.",
+                transactionRequest.walletId(), transactionRequest.operationType());
+        balanceCache.putAfterCommit(transactionRequest.walletId(), result.get().balance(), result.get().version());
+        balanceChangePublisher.publishAfterCommit(transactionRequest.walletId(), result.get().balance(),
+                result.get().version());
+        return new TransactionOutcome.Applied(
+                BalanceDto.buildBalanceDto(transactionRequest.walletId(), result.get().balance(), result.get().version()));
     }
 
     private Transaction buildTransaction(UUID walletId, OperationType operationType,
@@ -1,5 +1,6 @@
 package com.jefferson.wallet.service;
 
+import com.jefferson.wallet.enums.PersistenceStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -14,4 +15,18 @@ import org.springframework.stereotype.Component;
 public class PaymentServiceProps {
 
     private int maxRetry;
+
+    private PersistenceStrategy persistence = PersistenceStrategy.JPA;
+
+    private long retryBackoffBaseMs = 5;
+
+    private long retryBackoffMaxMs = 200;
+
+    private int pessimisticThreshold = 3;
+
+    private long pessimisticHoldMs = 10000;
+
+    private int contentionTrackingLimit = 100000;
+
+    private int batchMaxSize = 1000;
 }
@@ -0,0 +1,30 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.reconciliation")
+public class ReconciliationProps {
+
+    /**
+     * Number of wallet id ranges; each range is reconciled by its own task.
+     */
+    private int partitions = 16;
+
+    private int parallelism = 4;
+
+    private int pageSize = 5000;
+
+    /**
+     * Checkpoints are only advanced up to now minus this lag, so transactions that were stamped
+     * earlier but committed late are still counted by the next run.
+     */
+    private long checkpointLagMs = 900000;
+
+    private int maxReportedDrifts = 1000;
+}
@@ -0,0 +1,10 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.ReconciliationReport;
+
+import java.util.Optional;
+
+public interface ReconciliationService {
+    ReconciliationReport reconcile();
+    Optional<ReconciliationReport> getLastReport();
+}
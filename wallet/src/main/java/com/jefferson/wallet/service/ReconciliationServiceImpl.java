@@ -0,0 +1,189 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.ReconciliationReport;
+import com.jefferson.wallet.dto.WalletDrift;
+import com.jefferson.wallet.exceptions.ReconciliationInProgressException;
+import com.jefferson.wallet.repository.ReconciliationRepository;
+import com.jefferson.wallet.repository.ReconciliationRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks {@code wallets.balance} against the ledger. Each wallet keeps a checkpoint (balance as of a
+ * point in time), and a run only sums the ledger rows written after it. The wallets are split into
+ * {@code partitions} id ranges of about equal size that are processed in parallel; a wallet whose balance doesn't match
+ * its checkpoint plus the delta is reported and its checkpoint is left where it was.
+ */
+@Slf4j
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final UUID LOWEST_ID = new UUID(0, 0);
+
+    private static final int SAMPLE_PER_PARTITION = 1000;
+
+    private final ReconciliationRepository reconciliationRepository;
+
+    private final ReconciliationProps props;
+
+    private final ExecutorService executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile ReconciliationReport lastReport;
+
+    @Autowired
+    public ReconciliationServiceImpl(ReconciliationRepository reconciliationRepository, ReconciliationProps props) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.props = props;
+        this.executor = Executors.newFixedThreadPool(props.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "wallet-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(cron = "${wallet.reconciliation.cron:-}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (ReconciliationInProgressException e) {
+            log.info("Scheduled reconciliation skipped: previous run still in progress.");
+        }
+    }
+
+    @Override
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReconciliationInProgressException("Reconciliation is already running");
+        }
+        try {
+            return doReconcile();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public Optional<ReconciliationReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private ReconciliationReport doReconcile() {
+        Instant startedAt = Instant.now();
+        Instant cutoff = startedAt.minusMillis(props.getCheckpointLagMs());
+        log.info("Reconciliation started. Partitions: {}, checkpoint cutoff: {}.", props.getPartitions(), cutoff);
+
+        AtomicLong walletsChecked = new AtomicLong();
+        AtomicLong checkpointsAdvanced = new AtomicLong();
+        AtomicLong driftCount = new AtomicLong();
+        Queue<WalletDrift> drifts = new ConcurrentLinkedQueue<>();
+
+        List<UUID> bounds = partitionBounds(props.getPartitions());
+        log.debug("Reconciliation partition bounds: {}.", bounds);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < bounds.size(); i++) {
+            UUID lowerBound = bounds.get(i);
+            UUID upperBound = i + 1 < bounds.size() ? bounds.get(i + 1) : null;
+            tasks.add(executor.submit(() -> reconcileRange(lowerBound, upperBound, cutoff,
+                    walletsChecked, checkpointsAdvanced, driftCount, drifts)));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconciliation interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Reconciliation of a wallet range failed", e.getCause());
+            }
+        }
+
+        ReconciliationReport report = new ReconciliationReport(startedAt, Instant.now(), cutoff,
+                walletsChecked.get(), checkpointsAdvanced.get(), driftCount.get(), List.copyOf(drifts));
+        lastReport = report;
+        if (report.driftCount() > 0) {
+            log.warn("Reconciliation found {} wallets with drift out of {}.", report.driftCount(), report.walletsChecked());
+        } else {
+            log.info("Reconciliation finished. Wallets checked: {}, checkpoints advanced: {}.",
+                    report.walletsChecked(), report.checkpointsAdvanced());
+        }
+        return report;
+    }
+
+    private void reconcileRange(UUID lowerBound, UUID upperBound, Instant cutoff,
+                                AtomicLong walletsChecked, AtomicLong checkpointsAdvanced,
+                                AtomicLong driftCount, Queue<WalletDrift> drifts) {
+        UUID afterId = null;
+        while (true) {
+            List<ReconciliationRow> rows = reconciliationRepository.findPage(lowerBound, upperBound, afterId,
+                    cutoff, props.getPageSize());
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            List<UUID> advancedIds = new ArrayList<>(rows.size());
+            List<BigDecimal> advancedBalances = new ArrayList<>(rows.size());
+            for (ReconciliationRow row : rows) {
+                BigDecimal drift = row.balance().subtract(row.expectedBalance());
+                if (drift.signum() != 0) {
+                    if (driftCount.incrementAndGet() <= props.getMaxReportedDrifts()) {
+                        drifts.add(new WalletDrift(row.walletId(), row.balance(), row.expectedBalance(), drift));
+                    }
+                }
+                else if (row.checkpointAt() == null || row.checkpointAt().isBefore(cutoff)) {
+                    advancedIds.add(row.walletId());
+                    advancedBalances.add(row.checkpointBalance().add(row.deltaToCutoff()));
+                }
+            }
+
+            if (!advancedIds.isEmpty()) {
+                reconciliationRepository.saveCheckpoints(advancedIds.toArray(UUID[]::new),
+                        advancedBalances.toArray(BigDecimal[]::new), cutoff);
+                checkpointsAdvanced.addAndGet(advancedIds.size());
+            }
+            walletsChecked.addAndGet(rows.size());
+            afterId = rows.get(rows.size() - 1).walletId();
+        }
+    }
+
+    /**
+     * Lower bounds of the ranges, taken from quantiles of a sample of wallet ids. Wallet ids are version 7,
+     * so their leading bits are the creation time and a fixed split of the id space would put every recent
+     * wallet into one range. The first bound is the lowest uuid, so wallets older or newer than anything
+     * in the sample still land in the first or last range.
+     */
+    private List<UUID> partitionBounds(int partitions) {
+        List<UUID> bounds = new ArrayList<>(partitions);
+        bounds.add(LOWEST_ID);
+        if (partitions < 2) {
+            return bounds;
+        }
+        double[] quantiles = new double[partitions - 1];
+        for (int i = 1; i < partitions; i++) {
+            quantiles[i - 1] = (double) i / partitions;
+        }
+        for (UUID bound : reconciliationRepository.sampleIdQuantiles(quantiles, (long) partitions * SAMPLE_PER_PARTITION)) {
+            // small tables repeat the same id at neighbouring quantiles
+            if (!bound.equals(bounds.get(bounds.size() - 1))) {
+                bounds.add(bound);
+            }
+        }
+        return bounds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,127 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.exceptions.PaymentEngineOverloadedException;
+import com.jefferson.wallet.exceptions.TransactionOutcomeUnknownException;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Routes every operation of a wallet to the same single-threaded lane, so operations on one wallet
+ * are applied one after another and never collide on {@code Wallet.version} inside this instance.
+ * The actual work is done by the transactional {@link PaymentServiceImpl}.
+ * An operation still queued when the caller stops waiting is cancelled and reported as overload, so the client
+ * can safely retry; one that has already started is reported as {@link TransactionOutcomeUnknownException}.
+ */
+@Slf4j
+@Service
+@Primary
+@Validated
+@ConditionalOnProperty(prefix = "wallet.transaction.engine", name = "mode", havingValue = "sharded")
+public class ShardedPaymentServiceImpl implements PaymentService {
+
+    private final PaymentService delegate;
+
+    private final ThreadPoolExecutor[] lanes;
+
+    private final long laneTimeoutMs;
+
+    @Autowired
+    public ShardedPaymentServiceImpl(@Qualifier("paymentServiceImpl") PaymentService delegate,
+                                     PaymentEngineProps engineProps) {
+        this.delegate = delegate;
+        this.laneTimeoutMs = engineProps.getLaneTimeoutMs();
+        this.lanes = new ThreadPoolExecutor[engineProps.getLanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            final int laneNumber = i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(engineProps.getLaneQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "wallet-lane-" + laneNumber);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        log.info("Sharded payment engine started with {} lanes.", lanes.length);
+    }
+
+    @Override
+    public TransactionOutcome process(@NotNull(message = "Transaction request mustn't be null")
+                                      @Valid TransactionRequest transactionRequest) {
+
+        // set by whichever comes first: the lane starting the operation or the caller giving up on it
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<TransactionOutcome> future;
+        try {
+            future = laneFor(transactionRequest.walletId())
+                    .submit(() -> claimed.compareAndSet(false, true) ? delegate.process(transactionRequest) : null);
+        } catch (RejectedExecutionException e) {
+            throw new PaymentEngineOverloadedException("Wallet lane queue is full for id: " + transactionRequest.walletId());
+        }
+
+        try {
+            return future.get(laneTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            return abandon(future, claimed, transactionRequest.walletId(), "Wallet lane timed out for id: ");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(future, claimed, transactionRequest.walletId(), "Interrupted while waiting for wallet lane. Id: ");
+        }
+    }
+
+    private static TransactionOutcome abandon(Future<TransactionOutcome> future, AtomicBoolean claimed,
+                                              UUID walletId, String message) {
+        // Future.cancel can't tell a queued task from a running one, so the claim decides
+        if (claimed.compareAndSet(false, true)) {
+            future.cancel(false);
+            throw new PaymentEngineOverloadedException(message + walletId);
+        }
+        if (future.isDone()) {
+            // finished right after the wait gave up
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        throw new TransactionOutcomeUnknownException("Operation on wallet " + walletId +
+                " is already being applied, its outcome is unknown. Check the balance or retry with the same idempotency key");
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private ThreadPoolExecutor laneFor(UUID walletId) {
+        return lanes[Math.floorMod(walletId.hashCode(), lanes.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(laneTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+    }
+}
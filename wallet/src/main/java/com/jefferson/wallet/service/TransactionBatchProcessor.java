@@ -0,0 +1,186 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.enums.OperationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.*;
+
+/**
+ * Applies a list of transaction requests in one database transaction: one locking read of all
+ * touched wallets, one multi-row insert into {@code transactions} and one aggregated update of
+ * {@code wallets}. Requests are applied in list order, so a withdrawal sees the deposits queued
+ * before it. Idempotency keys of applied requests are stored with one more multi-row insert; a reused key
+ * fails the whole batch with {@link org.springframework.dao.DuplicateKeyException}, and the caller is expected
+ * to fall back to single requests.
+ */
+@Slf4j
+@Service
+public class TransactionBatchProcessor {
+
+    private static final String LOCK_WALLETS_SQL =
+            "SELECT id, balance, version FROM wallets WHERE is_active = true AND id = ANY (?) ORDER BY id FOR UPDATE";
+
+    private static final String INSERT_TRANSACTIONS_SQL =
+            "INSERT INTO transactions (wallet_id, operation_type, amount) " +
+            "SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::numeric[])";
+
+    private static final String INSERT_KEYS_SQL =
+            "INSERT INTO transaction_idempotency_keys (idempotency_key, wallet_id, operation_type, amount, balance) " +
+            "SELECT * FROM unnest(?::varchar[], ?::uuid[], ?::varchar[], ?::numeric[], ?::numeric[])";
+
+    private static final String UPDATE_WALLETS_SQL =
+            "UPDATE wallets w SET balance = v.balance, version = w.version + 1 " +
+            "FROM unnest(?::uuid[], ?::numeric[]) AS v(id, balance) WHERE w.id = v.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final BalanceCache balanceCache;
+
+    private final BalanceChangePublisher balanceChangePublisher;
+
+    @Autowired
+    public TransactionBatchProcessor(JdbcTemplate jdbcTemplate, BalanceCache balanceCache,
+                                     BalanceChangePublisher balanceChangePublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.balanceCache = balanceCache;
+        this.balanceChangePublisher = balanceChangePublisher;
+    }
+
+    @Transactional
+    public List<TransactionOutcome> applyBatch(List<TransactionRequest> requests) {
+
+        log.debug("Applying transaction batch. Size: {}.", requests.size());
+
+        Map<UUID, Long> versions = new HashMap<>();
+        Map<UUID, BigDecimal> balances = lockWallets(requests, versions);
+        Set<UUID> changedWallets = new LinkedHashSet<>();
+        List<TransactionRequest> applied = new ArrayList<>(requests.size());
+        List<BalanceDto> keyedResults = new ArrayList<>();
+        List<TransactionRequest> keyedRequests = new ArrayList<>();
+        List<TransactionOutcome> outcomes = new ArrayList<>(requests.size());
+
+        for (TransactionRequest request : requests) {
+            BigDecimal balance = balances.get(request.walletId());
+            if (balance == null) {
+                outcomes.add(new TransactionOutcome.WalletNotFound(request.walletId()));
+                continue;
+            }
+
+            if (request.operationType().equals(OperationType.WITHDRAW)) {
+                if (balance.compareTo(request.amount()) < 0) {
+                    outcomes.add(new TransactionOutcome.InsufficientFunds(request.walletId(),
+                            request.amount(), request.operationType()));
+                    continue;
+                }
+                balance = balance.subtract(request.amount());
+            }
+            else {
+                balance = balance.add(request.amount());
+            }
+
+            balances.put(request.walletId(), balance);
+            changedWallets.add(request.walletId());
+            applied.add(request);
+            BalanceDto balanceDto = BalanceDto.buildBalanceDto(request.walletId(), balance,
+                    versions.get(request.walletId()) + 1);
+            if (request.idempotencyKey() != null) {
+                keyedRequests.add(request);
+                keyedResults.add(balanceDto);
+            }
+            outcomes.add(new TransactionOutcome.Applied(balanceDto));
+        }
+
+        if (!applied.isEmpty()) {
+            insertTransactions(applied);
+            if (!keyedRequests.isEmpty()) {
+                insertIdempotencyKeys(keyedRequests, keyedResults);
+            }
+            updateBalances(changedWallets, balances);
+            changedWallets.forEach(walletId -> {
+                balanceCache.putAfterCommit(walletId, balances.get(walletId), versions.get(walletId) + 1);
+                balanceChangePublisher.publishAfterCommit(walletId, balances.get(walletId), versions.get(walletId) + 1);
+            });
+        }
+
+        log.debug("Transaction batch applied. Size: {}, applied: {}, wallets changed: {}.",
+                requests.size(), applied.size(), changedWallets.size());
+        return outcomes;
+    }
+
+    private Map<UUID, BigDecimal> lockWallets(List<TransactionRequest> requests, Map<UUID, Long> versions) {
+        UUID[] walletIds = requests.stream()
+                .map(TransactionRequest::walletId)
+                .distinct()
+                .toArray(UUID[]::new);
+
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_WALLETS_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", walletIds));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            UUID walletId = resultSet.getObject("id", UUID.class);
+            balances.put(walletId, resultSet.getBigDecimal("balance"));
+            versions.put(walletId, resultSet.getLong("version"));
+        });
+        return balances;
+    }
+
+    private void insertTransactions(List<TransactionRequest> applied) {
+        UUID[] walletIds = new UUID[applied.size()];
+        String[] operationTypes = new String[applied.size()];
+        BigDecimal[] amounts = new BigDecimal[applied.size()];
+        for (int i = 0; i < applied.size(); i++) {
+            walletIds[i] = applied.get(i).walletId();
+            operationTypes[i] = applied.get(i).operationType().name();
+            amounts[i] = applied.get(i).amount();
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_TRANSACTIONS_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", walletIds));
+            statement.setArray(2, connection.createArrayOf("varchar", operationTypes));
+            statement.setArray(3, connection.createArrayOf("numeric", amounts));
+            return statement;
+        });
+    }
+
+    private void insertIdempotencyKeys(List<TransactionRequest> requests, List<BalanceDto> results) {
+        String[] keys = requests.stream().map(TransactionRequest::idempotencyKey).toArray(String[]::new);
+        UUID[] walletIds = results.stream().map(BalanceDto::walletId).toArray(UUID[]::new);
+        String[] operationTypes = requests.stream().map(request -> request.operationType().name()).toArray(String[]::new);
+        BigDecimal[] amounts = requests.stream().map(TransactionRequest::amount).toArray(BigDecimal[]::new);
+        BigDecimal[] balances = results.stream().map(BalanceDto::balance).toArray(BigDecimal[]::new);
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_KEYS_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", keys));
+            statement.setArray(2, connection.createArrayOf("uuid", walletIds));
+            statement.setArray(3, connection.createArrayOf("varchar", operationTypes));
+            statement.setArray(4, connection.createArrayOf("numeric", amounts));
+            statement.setArray(5, connection.createArrayOf("numeric", balances));
+            return statement;
+        });
+    }
+
+    private void updateBalances(Set<UUID> changedWallets, Map<UUID, BigDecimal> balances) {
+        UUID[] walletIds = changedWallets.toArray(UUID[]::new);
+        BigDecimal[] newBalances = Arrays.stream(walletIds).map(balances::get).toArray(BigDecimal[]::new);
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPDATE_WALLETS_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", walletIds));
+            statement.setArray(2, connection.createArrayOf("numeric", newBalances));
+            return statement;
+        });
+    }
+}
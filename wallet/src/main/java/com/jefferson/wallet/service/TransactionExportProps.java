@@ -0,0 +1,24 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.export")
+public class TransactionExportProps {
+
+    private int fetchSize = 1000;
+
+    private int flushEveryRows = 1000;
+
+    private int maxConcurrentExports = 4;
+
+    /**
+     * How long one export may stream before the container ends the request.
+     */
+    private long asyncTimeoutMs = 3_600_000;
+}
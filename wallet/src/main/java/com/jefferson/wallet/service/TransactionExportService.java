@@ -0,0 +1,22 @@
+package com.jefferson.wallet.service;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.UUID;
+
+public interface TransactionExportService {
+
+    /**
+     * Reserves one of the export slots; the returned handle writes the export and frees the slot when done.
+     */
+    ExportHandle openExport(UUID walletId, Instant from, Instant to);
+
+    interface ExportHandle {
+        void writeTo(OutputStream outputStream);
+
+        /**
+         * Frees the slot if {@link #writeTo} hasn't started, after which it never runs. Safe to call more than once.
+         */
+        void abandon();
+    }
+}
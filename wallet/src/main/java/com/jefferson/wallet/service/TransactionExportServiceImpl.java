@@ -0,0 +1,146 @@
+package com.jefferson.wallet.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.wallet.exceptions.ExportBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams ledger rows as NDJSON straight from a server-side cursor: rows are read {@code fetch-size}
+ * at a time and written to the response without building entities or DTOs, so heap use doesn't depend
+ * on the export size. A slow client blocks the writes, which in turn stops the cursor from fetching.
+ */
+@Slf4j
+@Service
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionExportProps props;
+
+    private final Semaphore exportSlots;
+
+    @Autowired
+    public TransactionExportServiceImpl(DataSource dataSource,
+                                        PlatformTransactionManager transactionManager,
+                                        ObjectMapper objectMapper,
+                                        TransactionExportProps props) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(props.getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Postgres only uses a cursor for fetch size inside a transaction
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.exportSlots = new Semaphore(props.getMaxConcurrentExports());
+    }
+
+    @Override
+    public ExportHandle openExport(UUID walletId, Instant from, Instant to) {
+        if (!exportSlots.tryAcquire()) {
+            throw new ExportBusyException("Too many concurrent exports, try again later");
+        }
+        AtomicBoolean started = new AtomicBoolean();
+        return new ExportHandle() {
+            @Override
+            public void writeTo(OutputStream outputStream) {
+                if (!started.compareAndSet(false, true)) {
+                    throw new IllegalStateException("Export was already written or abandoned");
+                }
+                try {
+                    export(walletId, from, to, outputStream);
+                } finally {
+                    exportSlots.release();
+                }
+            }
+
+            @Override
+            public void abandon() {
+                if (started.compareAndSet(false, true)) {
+                    exportSlots.release();
+                }
+            }
+        };
+    }
+
+    private void export(UUID walletId, Instant from, Instant to, OutputStream outputStream) {
+        log.debug("Transaction export started. WalletId: {}, from: {}, to: {}.", walletId, from, to);
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, wallet_id, operation_type, amount, transfer_id, created_at FROM transactions WHERE true");
+        List<Object> args = new ArrayList<>();
+        if (walletId != null) {
+            sql.append(" AND wallet_id = ?");
+            args.add(walletId);
+        }
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(OffsetDateTime.ofInstant(from, ZoneOffset.UTC));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            args.add(OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // every row ends with its own newline instead of the default space between root values
+            generator.setRootValueSeparator(null);
+            long[] rows = {0};
+
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query(sql.toString(), (RowCallbackHandler) resultSet -> {
+                        try {
+                            generator.writeStartObject();
+                            generator.writeStringField("id", resultSet.getString("id"));
+                            generator.writeStringField("walletId", resultSet.getString("wallet_id"));
+                            generator.writeStringField("operationType", resultSet.getString("operation_type"));
+                            generator.writeFieldName("amount");
+                            generator.writeNumber(resultSet.getBigDecimal("amount"));
+                            String transferId = resultSet.getString("transfer_id");
+                            if (transferId != null) {
+                                generator.writeStringField("transferId", transferId);
+                            }
+                            generator.writeStringField("createdAt",
+                                    resultSet.getObject("created_at", OffsetDateTime.class).toInstant().toString());
+                            generator.writeEndObject();
+                            generator.writeRaw('\n');
+                            if (++rows[0] % props.getFlushEveryRows() == 0) {
+                                generator.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, args.toArray()));
+
+            generator.flush();
+            log.debug("Transaction export finished. WalletId: {}, rows: {}.", walletId, rows[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
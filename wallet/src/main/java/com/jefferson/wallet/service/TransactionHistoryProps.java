@@ -0,0 +1,19 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@RefreshScope
+@ConfigurationProperties(prefix = "wallet.history")
+public class TransactionHistoryProps {
+
+    private int defaultPageSize = 50;
+
+    private int maxPageSize = 500;
+}
@@ -0,0 +1,18 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.TransactionPageDto;
+import com.jefferson.wallet.enums.OperationType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface TransactionHistoryService {
+    TransactionPageDto getHistory(@NotNull(message = "UUID mustn't be null") UUID walletId,
+                                  String cursor,
+                                  @Positive(message = "Limit must be positive") Integer limit,
+                                  OperationType type,
+                                  Instant from,
+                                  Instant to);
+}
@@ -0,0 +1,96 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.TransactionDto;
+import com.jefferson.wallet.dto.TransactionPageDto;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.exceptions.InvalidCursorException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import com.jefferson.wallet.repository.TransactionHistoryRepository;
+import com.jefferson.wallet.repository.WalletRepository;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@Validated
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+
+    private final TransactionHistoryRepository historyRepository;
+
+    private final WalletRepository walletRepository;
+
+    private final TransactionHistoryProps props;
+
+    @Autowired
+    public TransactionHistoryServiceImpl(TransactionHistoryRepository historyRepository,
+                                         WalletRepository walletRepository,
+                                         TransactionHistoryProps props) {
+        this.historyRepository = historyRepository;
+        this.walletRepository = walletRepository;
+        this.props = props;
+    }
+
+    @Override
+    public TransactionPageDto getHistory(@NotNull(message = "UUID mustn't be null") UUID walletId,
+                                         String cursor,
+                                         @Positive(message = "Limit must be positive") Integer limit,
+                                         OperationType type,
+                                         Instant from,
+                                         Instant to) {
+
+        log.debug("Get transaction history for id: {}. Cursor: {}, limit: {}.", walletId, cursor, limit);
+
+        int pageSize = limit == null ? props.getDefaultPageSize() : Math.min(limit, props.getMaxPageSize());
+        Instant afterCreatedAt = null;
+        UUID afterId = null;
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            afterCreatedAt = Instant.parse(position[0]);
+            afterId = UUID.fromString(position[1]);
+        }
+        else if (!walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException("History request: wallet not found for id: " + walletId);
+        }
+
+        // one extra row tells whether there is a next page
+        List<TransactionDto> rows = historyRepository.findPage(walletId, type, from, to,
+                afterCreatedAt, afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return TransactionPageDto.buildPage(rows, null);
+        }
+
+        List<TransactionDto> page = rows.subList(0, pageSize);
+        TransactionDto last = page.get(pageSize - 1);
+        return TransactionPageDto.buildPage(page, encodeCursor(last.createdAt(), last.id()));
+    }
+
+    private String encodeCursor(Instant createdAt, UUID id) {
+        String position = createdAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            Instant.parse(position[0]);
+            UUID.fromString(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.exceptions.IdempotencyKeyReusedException;
+import com.jefferson.wallet.exceptions.InsufficientFundsException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Result of a single transaction request. Rejections are ordinary return values: a withdrawal that
+ * bounces on insufficient funds costs no exception, and the message is only built when a response
+ * body needs it. Which HTTP status a rejection gets is up to the controller.
+ */
+public sealed interface TransactionOutcome {
+
+    record Applied(BalanceDto balance) implements TransactionOutcome {
+    }
+
+    sealed interface Rejected extends TransactionOutcome {
+
+        UUID walletId();
+
+        String message();
+    }
+
+    record WalletNotFound(UUID walletId) implements Rejected {
+
+        @Override
+        public String message() {
+            return "Wallet not found for id: " + walletId;
+        }
+    }
+
+    record InsufficientFunds(UUID walletId, BigDecimal amount, OperationType operationType) implements Rejected {
+
+        @Override
+        public String message() {
+            return "Insufficient funds for wallet with id: " + walletId +
+                    ". Transaction amount: " + amount +
+                    ". Transaction type: " + operationType;
+        }
+    }
+
+    /**
+     * The idempotency key was already used for a different wallet, operation type or amount.
+     */
+    record IdempotencyKeyReused(UUID walletId, String idempotencyKey) implements Rejected {
+
+        @Override
+        public String message() {
+            return "Idempotency key " + idempotencyKey + " was already used for a different operation";
+        }
+    }
+
+    /**
+     * The new balance, or the exception the exception-based API used to throw for this rejection.
+     */
+    default BalanceDto getOrThrow() {
+        if (this instanceof Applied applied) {
+            return applied.balance();
+        }
+        if (this instanceof WalletNotFound notFound) {
+            throw new WalletNotFoundException(notFound.message());
+        }
+        if (this instanceof IdempotencyKeyReused reused) {
+            throw new IdempotencyKeyReusedException(reused.message());
+        }
+        throw new InsufficientFundsException(((InsufficientFunds) this).message());
+    }
+}
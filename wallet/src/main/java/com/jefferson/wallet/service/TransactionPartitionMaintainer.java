@@ -0,0 +1,151 @@
+package com.jefferson.wallet.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} in shape: creates the next {@code monthsAhead}
+ * months so inserts never fall into {@code transactions_default}, and detaches partitions older than the
+ * retention into the archive schema, where they can be dumped and dropped as whole tables.
+ * Reconciliation sums the ledger after each wallet's checkpoint, so a partition is only detached once every wallet
+ * with rows in it has a checkpoint at or after the end of its month; until then it stays attached and a warning is logged.
+ * Runs on startup and then on schedule; an advisory lock keeps several instances from doing it at once.
+ */
+@Slf4j
+@Component
+public class TransactionPartitionMaintainer {
+
+    private static final long ADVISORY_LOCK_KEY = 0x7472616e73L;
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_p(\\d{6})");
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'transactions' AND p.relnamespace = 'public'::regnamespace
+            """;
+
+    // %s is the partition; rows after the checkpoint are still summed by reconciliation
+    private static final String UNRECONCILED_ROWS_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM %s t
+                LEFT JOIN wallet_reconciliation_checkpoints c ON c.wallet_id = t.wallet_id
+                WHERE c.checkpoint_at IS NULL OR c.checkpoint_at < t.created_at
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionPartitionProps props;
+
+    @Autowired
+    public TransactionPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          TransactionPartitionProps props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${wallet.transaction.partitions.cron:-}")
+    public void maintain() {
+        if (!props.isEnabled()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                        Boolean.class, ADVISORY_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    log.debug("Transaction partition maintenance skipped: another instance holds the lock.");
+                    return;
+                }
+                List<YearMonth> existing = listPartitions();
+                YearMonth current = YearMonth.now(ZoneOffset.UTC);
+                createAhead(existing, current);
+                if (props.getRetentionMonths() > 0) {
+                    detachExpired(existing, current.minusMonths(props.getRetentionMonths()));
+                }
+            });
+        } catch (DataAccessException e) {
+            log.error("Transaction partition maintenance failed.", e);
+        }
+    }
+
+    private List<YearMonth> listPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.parse(matcher.group(1), SUFFIX_FORMAT))
+                .toList();
+    }
+
+    private void createAhead(List<YearMonth> existing, YearMonth current) {
+        for (int i = 0; i <= props.getMonthsAhead(); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (existing.contains(month)) {
+                continue;
+            }
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF transactions FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month),
+                    month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC),
+                    month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC)));
+            log.info("Transaction partition created: {}.", partitionName(month));
+        }
+    }
+
+    /**
+     * Detaches partitions whose whole month is before {@code oldestKept}. On Postgres 13 DETACH takes an
+     * exclusive lock on {@code transactions} for the duration of the catalog change only, no rows are touched.
+     * Months with rows not yet covered by a reconciliation checkpoint are skipped.
+     */
+    private void detachExpired(List<YearMonth> existing, YearMonth oldestKept) {
+        List<YearMonth> expired = existing.stream().filter(month -> month.isBefore(oldestKept)).toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + props.getArchiveSchema());
+        for (YearMonth month : expired) {
+            Boolean unreconciled = jdbcTemplate.queryForObject(
+                    String.format(UNRECONCILED_ROWS_SQL, partitionName(month)), Boolean.class);
+            if (Boolean.TRUE.equals(unreconciled)) {
+                log.warn("Transaction partition {} is kept: some of its rows are after the reconciliation checkpoint " +
+                        "of their wallet. Run reconciliation and fix the reported drift first.", partitionName(month));
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partitionName(month));
+            jdbcTemplate.execute("ALTER TABLE " + partitionName(month) + " SET SCHEMA " + props.getArchiveSchema());
+            log.info("Transaction partition {} detached to schema {}.", partitionName(month), props.getArchiveSchema());
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "transactions_p" + month.format(SUFFIX_FORMAT);
+    }
+}
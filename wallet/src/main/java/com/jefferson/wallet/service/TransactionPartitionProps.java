@@ -0,0 +1,28 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.transaction.partitions")
+public class TransactionPartitionProps {
+
+    private boolean enabled = true;
+
+    /**
+     * Monthly partitions kept created beyond the current month.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Months of history kept attached to {@code transactions}; older partitions are detached and moved
+     * to {@link #archiveSchema} once reconciliation has checkpointed past them. 0 keeps everything attached.
+     */
+    private int retentionMonths = 0;
+
+    private String archiveSchema = "transactions_archive";
+}
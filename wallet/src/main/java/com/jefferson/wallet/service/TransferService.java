@@ -0,0 +1,12 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.TransferDto;
+import com.jefferson.wallet.dto.TransferRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public interface TransferService {
+    TransferDto transfer(@NotNull(message = "Transfer request mustn't be null")
+                         @Valid
+                         TransferRequest transferRequest);
+}
@@ -0,0 +1,133 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransferDto;
+import com.jefferson.wallet.dto.TransferRequest;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.exceptions.InsufficientFundsException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import com.jefferson.wallet.model.Money;
+import com.jefferson.wallet.model.Transaction;
+import com.jefferson.wallet.model.Wallet;
+import com.jefferson.wallet.repository.TransactionRepository;
+import com.jefferson.wallet.repository.WalletRepository;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves money between two wallets in one transaction. Both rows are locked up front in id order,
+ * so opposite-direction transfers between the same wallets queue on the lock instead of deadlocking
+ * or failing the version check.
+ */
+@Slf4j
+@Service
+@Validated
+public class TransferServiceImpl implements TransferService {
+
+    private final WalletRepository walletRepository;
+
+    private final TransactionRepository transactionRepository;
+
+    private final BalanceCache balanceCache;
+
+    private final BalanceChangePublisher balanceChangePublisher;
+
+    private final ActiveWalletFilter activeWalletFilter;
+
+    @Autowired
+    public TransferServiceImpl(WalletRepository walletRepository,
+                               TransactionRepository transactionRepository,
+                               BalanceCache balanceCache,
+                               BalanceChangePublisher balanceChangePublisher,
+                               ActiveWalletFilter activeWalletFilter) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.balanceCache = balanceCache;
+        this.balanceChangePublisher = balanceChangePublisher;
+        this.activeWalletFilter = activeWalletFilter;
+    }
+
+    @Override
+    @Transactional
+    public TransferDto transfer(@NotNull(message = "Transfer request mustn't be null")
+                                @Valid TransferRequest transferRequest) {
+
+        log.debug("Transfer processing started. From: {}, to: {}, amount: {}.",
+                transferRequest.fromWalletId(), transferRequest.toWalletId(), transferRequest.amount());
+
+        for (UUID walletId : List.of(transferRequest.fromWalletId(), transferRequest.toWalletId())) {
+            if (activeWalletFilter.isDefinitelyAbsent(walletId)) {
+                throw new WalletNotFoundException("Wallet not found for id: " + walletId);
+            }
+        }
+
+        Map<UUID, Wallet> wallets = walletRepository
+                .findActiveByIdsForUpdate(List.of(transferRequest.fromWalletId(), transferRequest.toWalletId()))
+                .stream()
+                .collect(Collectors.toMap(Wallet::getId, Function.identity()));
+
+        Wallet source = wallets.get(transferRequest.fromWalletId());
+        Wallet target = wallets.get(transferRequest.toWalletId());
+        if(source == null || target == null) {
+            UUID missing = source == null ? transferRequest.fromWalletId() : transferRequest.toWalletId();
+            log.debug("Transfer processing failed: wallet not found. WalletId: {}.", missing);
+            throw new WalletNotFoundException("Wallet not found for id: " + missing);
+        }
+
+        Money amount = Money.of(transferRequest.amount());
+        if(source.getBalance().isLessThan(amount)) {
+            log.debug("Transfer processing failed: insufficient funds. From: {}, amount: {}.",
+                    transferRequest.fromWalletId(), transferRequest.amount());
+            throw new InsufficientFundsException("Insufficient funds for wallet with id: " + transferRequest.fromWalletId() +
+                    ". Transaction amount: " + transferRequest.amount() +
+                    ". Transaction type: TRANSFER");
+        }
+
+        source.setBalance(source.getBalance().minus(amount));
+        target.setBalance(target.getBalance().plus(amount));
+
+        UUID transferId = UUID.randomUUID();
+        Instant now = Instant.now();
+        transactionRepository.saveAll(List.of(
+                buildTransaction(source.getId(), OperationType.WITHDRAW, transferRequest.amount(), transferId, now),
+                buildTransaction(target.getId(), OperationType.DEPOSIT, transferRequest.amount(), transferId, now)));
+        walletRepository.saveAll(List.of(source, target));
+
+        // rows are locked, so the flush bumps each version by exactly one
+        BigDecimal sourceBalance = source.getBalance().toBigDecimal();
+        BigDecimal targetBalance = target.getBalance().toBigDecimal();
+        balanceCache.putAfterCommit(source.getId(), sourceBalance, source.getVersion() + 1);
+        balanceCache.putAfterCommit(target.getId(), targetBalance, target.getVersion() + 1);
+        balanceChangePublisher.publishAfterCommit(source.getId(), sourceBalance, source.getVersion() + 1);
+        balanceChangePublisher.publishAfterCommit(target.getId(), targetBalance, target.getVersion() + 1);
+
+        log.debug("Transfer processing finished successfully. TransferId: {}.", transferId);
+        return TransferDto.buildTransfer(transferId,
+                BalanceDto.buildBalanceDto(source.getId(), sourceBalance, source.getVersion() + 1),
+                BalanceDto.buildBalanceDto(target.getId(), targetBalance, target.getVersion() + 1));
+    }
+
+    private Transaction buildTransaction(UUID walletId, OperationType operationType, BigDecimal amount,
+                                         UUID transferId, Instant createdAt) {
+        Transaction transaction = new Transaction();
+        transaction.setWalletId(walletId);
+        transaction.setOperationType(operationType);
+        transaction.setAmount(amount);
+        transaction.setTransferId(transferId);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+}
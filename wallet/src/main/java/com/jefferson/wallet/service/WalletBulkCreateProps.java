@@ -0,0 +1,30 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.bulk-create")
+public class WalletBulkCreateProps {
+
+    /**
+     * Largest {@code count} accepted by one bulk request.
+     */
+    private int maxCount = 1_000_000;
+
+    /**
+     * Wallets per COPY statement and commit.
+     */
+    private int chunkSize = 10_000;
+
+    private int maxConcurrentRequests = 2;
+
+    /**
+     * How long one bulk request may stream before the container ends the request.
+     */
+    private long asyncTimeoutMs = 600_000;
+}
@@ -0,0 +1,23 @@
+package com.jefferson.wallet.service;
+
+import jakarta.validation.constraints.Positive;
+
+import java.io.OutputStream;
+
+public interface WalletBulkCreateService {
+
+    /**
+     * Checks the count and reserves one of the bulk slots; the returned handle creates the wallets while
+     * writing their ids and frees the slot when done.
+     */
+    BulkCreateHandle openBulkCreate(@Positive(message = "Count must be positive") int count);
+
+    interface BulkCreateHandle {
+        void writeTo(OutputStream outputStream);
+
+        /**
+         * Frees the slot if {@link #writeTo} hasn't started, after which it never runs. Safe to call more than once.
+         */
+        void abandon();
+    }
+}
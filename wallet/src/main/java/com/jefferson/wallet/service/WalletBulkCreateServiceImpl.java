@@ -0,0 +1,156 @@
+package com.jefferson.wallet.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.wallet.exceptions.BatchTooLargeException;
+import com.jefferson.wallet.exceptions.BulkCreateBusyException;
+import com.jefferson.wallet.model.UuidV7;
+import jakarta.validation.constraints.Positive;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Creates wallets in chunks of {@code chunk-size}: ids are generated here and each chunk is loaded with one
+ * {@code COPY ... FROM STDIN} and committed on its own. Balance, flags, version and {@code created_at}
+ * come from the column defaults, so nothing goes through JPA. The ids of a chunk are written to the
+ * response as NDJSON only after it commits; if a later chunk fails, the client has the ids of every wallet
+ * that exists.
+ */
+@Slf4j
+@Service
+@Validated
+public class WalletBulkCreateServiceImpl implements WalletBulkCreateService {
+
+    private static final String COPY_SQL = "COPY wallets (id) FROM STDIN";
+
+    // 36 characters of a UUID and the row terminator
+    private static final int ROW_BYTES = 37;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final WalletBulkCreateProps props;
+
+    private final ActiveWalletFilter activeWalletFilter;
+
+    private final Semaphore bulkSlots;
+
+    @Autowired
+    public WalletBulkCreateServiceImpl(DataSource dataSource,
+                                       PlatformTransactionManager transactionManager,
+                                       ObjectMapper objectMapper,
+                                       WalletBulkCreateProps props,
+                                       ActiveWalletFilter activeWalletFilter) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.activeWalletFilter = activeWalletFilter;
+        this.bulkSlots = new Semaphore(props.getMaxConcurrentRequests());
+    }
+
+    @Override
+    public BulkCreateHandle openBulkCreate(@Positive(message = "Count must be positive") int count) {
+        if (count > props.getMaxCount()) {
+            throw new BatchTooLargeException("Bulk size " + count + " exceeds maximum of " + props.getMaxCount());
+        }
+        if (!bulkSlots.tryAcquire()) {
+            throw new BulkCreateBusyException("Too many concurrent bulk wallet creations, try again later");
+        }
+        AtomicBoolean started = new AtomicBoolean();
+        return new BulkCreateHandle() {
+            @Override
+            public void writeTo(OutputStream outputStream) {
+                if (!started.compareAndSet(false, true)) {
+                    throw new IllegalStateException("Bulk creation was already written or abandoned");
+                }
+                try {
+                    create(count, outputStream);
+                } finally {
+                    bulkSlots.release();
+                }
+            }
+
+            @Override
+            public void abandon() {
+                if (started.compareAndSet(false, true)) {
+                    bulkSlots.release();
+                }
+            }
+        };
+    }
+
+    private void create(int count, OutputStream outputStream) {
+        log.debug("Bulk wallet creation started. Count: {}.", count);
+
+        int chunkSize = Math.min(props.getChunkSize(), count);
+        UUID[] ids = new UUID[chunkSize];
+        byte[] rows = new byte[chunkSize * ROW_BYTES];
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            int created = 0;
+            while (created < count) {
+                int size = Math.min(chunkSize, count - created);
+                for (int i = 0; i < size; i++) {
+                    ids[i] = UuidV7.generate();
+                    byte[] text = ids[i].toString().getBytes(StandardCharsets.US_ASCII);
+                    System.arraycopy(text, 0, rows, i * ROW_BYTES, text.length);
+                    rows[i * ROW_BYTES + ROW_BYTES - 1] = '\n';
+                }
+                copyChunk(rows, size * ROW_BYTES);
+                created += size;
+
+                for (int i = 0; i < size; i++) {
+                    activeWalletFilter.added(ids[i]);
+                    generator.writeStartObject();
+                    generator.writeStringField("id", ids[i].toString());
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                log.debug("Bulk wallet creation chunk committed. Created: {} of {}.", created, count);
+            }
+            log.debug("Bulk wallet creation finished. Count: {}.", count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void copyChunk(byte[] rows, int length) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                    CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                    try {
+                        copyIn.writeToCopy(rows, 0, length);
+                        return copyIn.endCopy();
+                    } finally {
+                        if (copyIn.isActive()) {
+                            copyIn.cancelCopy();
+                        }
+                    }
+                }));
+    }
+}
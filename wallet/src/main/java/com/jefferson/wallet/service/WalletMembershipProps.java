@@ -0,0 +1,38 @@
+package com.jefferson.wallet.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "wallet.membership")
+public class WalletMembershipProps {
+
+    private boolean enabled = false;
+
+    /**
+     * Filter capacity; the rebuild sizes it for at least one and a half times the active wallets found.
+     */
+    private long expectedWallets = 1_000_000;
+
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Upper bound for the filter bits. When the capacity needs more, the false positive rate goes up instead.
+     */
+    private int maxMemoryMb = 32;
+
+    /**
+     * Recently deleted ids answered as missing even though the filter still contains them.
+     */
+    private int tombstoneSize = 100_000;
+
+    /**
+     * Version 7 ids created later than the rebuild start minus this margin are never rejected:
+     * another instance may have created them.
+     */
+    private long clockSkewMs = 60_000;
+}
@@ -9,6 +9,6 @@ import java.util.UUID;
 
 public interface WalletService {
     WalletDto createWallet();
-    BalanceDto getBalance(@NotNull(message = "UUID mustn't be null") UUID walletId);
+    BalanceDto getBalance(@NotNull(message = "UUID mustn't be null") UUID walletId, Long minVersion);
     void softDeleteWallet(@NotNull(message = "UUID mustn't be null") UUID walletId);
 }
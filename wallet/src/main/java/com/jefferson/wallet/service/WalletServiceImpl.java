@@ -1,5 +1,6 @@
 package com.jefferson.wallet.service;
 
+import com.jefferson.wallet.datasource.ReplicaReadTemplate;
 import com.jefferson.wallet.dto.BalanceDto;
 import com.jefferson.wallet.dto.WalletDto;
 import com.jefferson.wallet.exceptions.WalletNotFoundException;
@@ -10,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
@@ -24,9 +27,19 @@ public class WalletServiceImpl implements WalletService {
 
     private final WalletRepository walletRepository;
 
+    private final BalanceCache balanceCache;
+
+    private final ActiveWalletFilter activeWalletFilter;
+
+    private final ReplicaReadTemplate replicaReadTemplate;
+
     @Autowired
-    public WalletServiceImpl(WalletRepository walletRepository) {
+    public WalletServiceImpl(WalletRepository walletRepository, BalanceCache balanceCache,
+                             ActiveWalletFilter activeWalletFilter, ReplicaReadTemplate replicaReadTemplate) {
         this.walletRepository = walletRepository;
+        this.balanceCache = balanceCache;
+        this.activeWalletFilter = activeWalletFilter;
+        this.replicaReadTemplate = replicaReadTemplate;
     }
 
     @Override
@@ -34,20 +47,38 @@ public class WalletServiceImpl implements WalletService {
     public WalletDto createWallet() {
         log.debug("Creating new wallet.");
         Wallet wallet = walletRepository.save(new Wallet());
+        activeWalletFilter.added(wallet.getId());
         log.debug("Wallet created with id: {}.", wallet.getId());
-        return WalletDto.buildWallet(wallet.getId(), wallet.getBalance());
+        return WalletDto.buildWallet(wallet.getId(), wallet.getBalance().toBigDecimal());
     }
 
 
     @Override
-    public BalanceDto getBalance(@NotNull(message = "UUID mustn't be null") UUID walletId) {
+    public BalanceDto getBalance(@NotNull(message = "UUID mustn't be null") UUID walletId, Long minVersion) {
 
-        log.debug("Get wallet balance for id: {}.", walletId);
+        log.debug("Get wallet balance for id: {}. Min version: {}.", walletId, minVersion);
 
-        Wallet wallet = walletRepository.findActiveById(walletId)
+        Optional<BalanceCache.CachedBalance> cached = balanceCache.get(walletId);
+        if(cached.isPresent() && (minVersion == null || cached.get().version() >= minVersion)) {
+            if(!cached.get().active()) {
+                throw new WalletNotFoundException("Get balance request: wallet not found for id: " + walletId);
+            }
+            return BalanceDto.buildBalanceDto(walletId, cached.get().balance(), cached.get().version());
+        }
+        if(activeWalletFilter.isDefinitelyAbsent(walletId)) {
+            throw new WalletNotFoundException("Get balance request: wallet not found for id: " + walletId);
+        }
+
+        Optional<Wallet> replicaWallet = replicaReadTemplate.read(() -> walletRepository.findActiveById(walletId));
+        // a replica behind the caller's last write, or one that hasn't seen a new wallet yet, is asked again on the primary
+        Wallet wallet = replicaWallet
+                .filter(found -> minVersion == null || found.getVersion() >= minVersion)
+                .or(() -> walletRepository.findActiveById(walletId))
                 .orElseThrow(() -> new WalletNotFoundException("Get balance request: wallet not found for id: " + walletId));
 
-        return BalanceDto.buildBalanceDto(wallet.getId(), wallet.getBalance());
+        BigDecimal balance = wallet.getBalance().toBigDecimal();
+        balanceCache.put(wallet.getId(), balance, wallet.getVersion());
+        return BalanceDto.buildBalanceDto(wallet.getId(), balance, wallet.getVersion());
     }
 
     @Override
@@ -56,15 +87,29 @@ public class WalletServiceImpl implements WalletService {
 
         log.debug("Soft delete wallet for id: {}.", walletId);
 
+        if(activeWalletFilter.isDefinitelyAbsent(walletId)) {
+            log.debug("Soft delete wallet for id: {} failed. Wallet is known to be missing.", walletId);
+            return;
+        }
+
         Optional<Wallet> optionalWallet = walletRepository.findActiveById(walletId);
 
         if(optionalWallet.isPresent()) {
-            optionalWallet.get().setIsActive(false);
-            walletRepository.save(optionalWallet.get());
+            Wallet wallet = optionalWallet.get();
+            wallet.setIsActive(false);
+            walletRepository.save(wallet);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    balanceCache.markDeleted(walletId, wallet.getVersion());
+                    activeWalletFilter.removed(walletId);
+                }
+            });
             log.debug("Soft delete wallet for id: {} failed. Wallet was deactivated.", walletId);
             return;
         }
 
+        balanceCache.evict(walletId);
         log.debug("Soft delete wallet for id: {} failed. Wallet wasn't found.", walletId);
     }
 }
@@ -0,0 +1,63 @@
+package com.jefferson.wallet.cluster;
+
+import com.jefferson.wallet.model.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashRingTest {
+
+    private static final int WALLETS = 30000;
+
+    private static final int VIRTUAL_NODES = new ClusterProps().getVirtualNodes();
+
+    @Test
+    void spreadsWalletsEvenly() {
+        HashRing ring = HashRing.of(List.of("wallet-1", "wallet-2", "wallet-3"), VIRTUAL_NODES);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < WALLETS; i++) {
+            counts.merge(ring.ownerOf(UuidV7.generate()), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertEquals(WALLETS / 3.0, count, WALLETS * 0.05));
+        List.of("wallet-1", "wallet-2", "wallet-3").forEach(member -> assertEquals(1 / 3.0, ring.share(member), 0.02));
+        assertEquals(1.0, ring.share("wallet-1") + ring.share("wallet-2") + ring.share("wallet-3"), 1e-9);
+    }
+
+    @Test
+    void movesOnlyWalletsOfTheNewMember() {
+        HashRing before = HashRing.of(List.of("wallet-1", "wallet-2", "wallet-3"), VIRTUAL_NODES);
+        HashRing after = HashRing.of(List.of("wallet-1", "wallet-2", "wallet-3", "wallet-4"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (int i = 0; i < WALLETS; i++) {
+            UUID walletId = UUID.randomUUID();
+            String owner = after.ownerOf(walletId);
+            if (!owner.equals(before.ownerOf(walletId))) {
+                assertEquals("wallet-4", owner);
+                moved++;
+            }
+        }
+
+        assertEquals(WALLETS / 4.0, moved, WALLETS * 0.05);
+    }
+
+    @Test
+    void doesNotDependOnMemberOrder() {
+        HashRing ring = HashRing.of(List.of("wallet-1", "wallet-2"), 16);
+        HashRing reversed = HashRing.of(List.of("wallet-2", "wallet-1"), 16);
+
+        for (int i = 0; i < 1000; i++) {
+            UUID walletId = UUID.randomUUID();
+            assertEquals(ring.ownerOf(walletId), reversed.ownerOf(walletId));
+        }
+        assertNull(HashRing.EMPTY.ownerOf(UUID.randomUUID()));
+    }
+}
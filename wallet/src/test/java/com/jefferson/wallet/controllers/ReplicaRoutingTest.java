@@ -0,0 +1,106 @@
+package com.jefferson.wallet.controllers;
+
+import com.jefferson.wallet.datasource.ReplicaLagMonitor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The "replica" is a second standalone database, so a row that differs between the two shows which one
+ * answered. A standalone server reports no lag, which keeps the replica usable for the whole test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = "/test-data.sql")
+public class ReplicaRoutingTest extends TestContainersBase {
+
+    @Container
+    public static final PostgreSQLContainer<?> replica =
+            new PostgreSQLContainer<>("postgres:13")
+                    .withDatabaseName("replicadb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    private static final UUID WALLET_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @DynamicPropertySource
+    static void configureReplicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("wallet.datasource.replica.enabled", () -> true);
+        registry.add("wallet.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("wallet.datasource.replica.username", replica::getUsername);
+        registry.add("wallet.datasource.replica.password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void setUpReplica() {
+        replica.start();
+
+        runLiquibaseMigrations(replica);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void seedReplica() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+        replicaJdbc.update("TRUNCATE TABLE wallets CASCADE");
+        replicaJdbc.update("INSERT INTO wallets (id, balance, is_active, created_at, version)" +
+                " VALUES (?, 777.00, true, now(), 1)", WALLET_ID);
+
+        replicaLagMonitor.check();
+        assertTrue(replicaLagMonitor.isUsable());
+    }
+
+    @Test
+    void shouldReadBalanceFromReplica() throws Exception {
+
+        mockMvc.perform(get("/api/v1/wallet/{walletId}", WALLET_ID)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(777.00))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void shouldReadPrimaryWhenReplicaIsBehindMinVersion() throws Exception {
+
+        mockMvc.perform(get("/api/v1/wallet/{walletId}", WALLET_ID)
+                        .param("minVersion", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(500.50));
+    }
+
+    @Test
+    void shouldReadPrimaryWhenWalletIsMissingOnReplica() throws Exception {
+
+        mockMvc.perform(get("/api/v1/wallet/{walletId}", "550e8400-e29b-41d4-a716-446655440000")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(1000.00));
+    }
+}
@@ -25,6 +25,7 @@ public abstract class TestContainersBase {
         registry.add("spring.datasource.url", postgres::getJdbcUrl);
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("wallet.balance.cache.enabled", () -> false);
     }
 
     @BeforeAll
@@ -32,11 +33,11 @@ public abstract class TestContainersBase {
 
         postgres.start();
 
-        runLiquibaseMigrations();
+        runLiquibaseMigrations(postgres);
     }
 
-    static void runLiquibaseMigrations() {
-        String jdbcUrl = postgres.getJdbcUrl().replace("localhost", "host.docker.internal");
+    static void runLiquibaseMigrations(PostgreSQLContainer<?> database) {
+        String jdbcUrl = database.getJdbcUrl().replace("localhost", "host.docker.internal");
 
         String changelogPath = Paths.get("").toAbsolutePath()
                 .getParent()
@@ -55,8 +56,8 @@ public abstract class TestContainersBase {
                 "liquibase/liquibase:4.24",
                 "--url=" + jdbcUrl,
                 "--changeLogFile=changelog-master.xml",
-                "--username=" + postgres.getUsername(),
-                "--password=" + postgres.getPassword(),
+                "--username=" + database.getUsername(),
+                "--password=" + database.getPassword(),
                 "update"
         );
 
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jefferson.wallet.controller.WalletController;
 import com.jefferson.wallet.dto.BalanceDto;
 import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.dto.TransferRequest;
 import com.jefferson.wallet.enums.OperationType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,13 +13,20 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -179,4 +187,224 @@ public class WalletControllerTest extends TestContainersBase {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.amount").value("Amount field must be positive"));
     }
+
+    @Test
+    void shouldReturnPerItemResults_processWalletOperations() throws Exception {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        UUID badWalletId = UUID.randomUUID();
+        List<TransactionRequest> requests = List.of(
+                TransactionRequest.buildTransactionRequest(walletId, OperationType.DEPOSIT, BigDecimal.valueOf(99.50)),
+                TransactionRequest.buildTransactionRequest(badWalletId, OperationType.DEPOSIT, BigDecimal.valueOf(1.00)),
+                TransactionRequest.buildTransactionRequest(walletId, OperationType.WITHDRAW, BigDecimal.valueOf(1000.00)),
+                TransactionRequest.buildTransactionRequest(walletId, OperationType.WITHDRAW, BigDecimal.valueOf(600.00)));
+
+        mockMvc.perform(post("/api/v1/wallet/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].balance").value(600.00))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].error").value("Wallet not found for id: " + badWalletId))
+                .andExpect(jsonPath("$[2].status").value(422))
+                .andExpect(jsonPath("$[3].status").value(200))
+                .andExpect(jsonPath("$[3].balance").value(0.00));
+    }
+
+    @Test
+    void shouldReturnBadRequest_InvalidItem_processWalletOperations() throws Exception {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        List<TransactionRequest> requests = List.of(
+                TransactionRequest.buildTransactionRequest(walletId, OperationType.DEPOSIT, BigDecimal.valueOf(-1.00)));
+
+        mockMvc.perform(post("/api/v1/wallet/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.amount").value("Amount field must be positive"));
+    }
+
+    @Test
+    void shouldReturnBothBalances_transfer() throws Exception {
+
+        UUID fromWalletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+        UUID toWalletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        TransferRequest request = TransferRequest.buildTransferRequest(fromWalletId, toWalletId, BigDecimal.valueOf(100.00));
+
+        mockMvc.perform(post("/api/v1/wallet/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transferId").isNotEmpty())
+                .andExpect(jsonPath("$.source.walletId").value(fromWalletId.toString()))
+                .andExpect(jsonPath("$.source.balance").value(900.00))
+                .andExpect(jsonPath("$.target.walletId").value(toWalletId.toString()))
+                .andExpect(jsonPath("$.target.balance").value(600.50));
+    }
+
+    @Test
+    void shouldReturnBadRequest_SameWallet_transfer() throws Exception {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+        TransferRequest request = TransferRequest.buildTransferRequest(walletId, walletId, BigDecimal.valueOf(1.00));
+
+        mockMvc.perform(post("/api/v1/wallet/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.distinctWallets").value("Source and target wallets must differ"));
+    }
+
+    @Test
+    void shouldApplyOnce_RepeatedIdempotencyKey_processWalletOperation() throws Exception {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        TransactionRequest transactionRequest = TransactionRequest.buildTransactionRequest(
+                walletId, OperationType.WITHDRAW, BigDecimal.valueOf(10.50), UUID.randomUUID().toString());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/wallet")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(transactionRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.balance").value(BigDecimal.valueOf(490.00)));
+        }
+
+        mockMvc.perform(get("/api/v1/wallet/{walletId}", walletId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(BigDecimal.valueOf(490.00)));
+    }
+
+    @Test
+    void shouldReturnHistoryPages_getTransactionHistory() throws Exception {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+        String firstPage = mockMvc.perform(get("/api/v1/wallet/{walletId}/transactions", walletId)
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value("660e8400-e29b-41d4-a716-446655440001"))
+                .andExpect(jsonPath("$.items[0].operationType").value("WITHDRAW"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/wallet/{walletId}/transactions", walletId)
+                        .param("limit", "1")
+                        .param("cursor", cursor)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value("660e8400-e29b-41d4-a716-446655440000"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequest_InvalidCursor_getTransactionHistory() throws Exception {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+        mockMvc.perform(get("/api/v1/wallet/{walletId}/transactions", walletId)
+                        .param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorTitle").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    void shouldStreamNdjson_exportTransactions() throws Exception {
+
+        UUID walletId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/transactions/export")
+                        .param("walletId", walletId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("660e8400-e29b-41d4-a716-446655440000", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("WITHDRAW", objectMapper.readTree(lines[1]).get("operationType").asText());
+    }
+
+    @Test
+    void shouldStreamCreatedIds_createNewWallets() throws Exception {
+
+        MvcResult asyncResult = mockMvc.perform(post("/api/v1/wallets/bulk")
+                        .param("count", "2500"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2500, lines.length);
+        UUID lastId = UUID.fromString(objectMapper.readTree(lines[lines.length - 1]).get("id").asText());
+        mockMvc.perform(get("/api/v1/wallet/{walletId}", lastId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(0.00));
+    }
+
+    @Test
+    void shouldReturnBadRequest_CountAboveMaximum_createNewWallets() throws Exception {
+
+        mockMvc.perform(post("/api/v1/wallets/bulk")
+                        .param("count", "1000001"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorTitle").value("BATCH_TOO_LARGE"));
+    }
+
+    @Test
+    void shouldSendCurrentBalanceOnSubscribe_streamWalletBalances() throws Exception {
+
+        String body = mockMvc.perform(get("/api/v1/wallets/balance-stream")
+                        .param("walletId", "550e8400-e29b-41d4-a716-446655440001")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains("event:balance"));
+        assertTrue(body.contains("\"balance\":500.5"));
+    }
+
+    @Test
+    void shouldThrowWalletNotFound_streamWalletBalances() throws Exception {
+
+        mockMvc.perform(get("/api/v1/wallets/balance-stream")
+                        .param("walletId", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnBadRequest_TooManyWallets_streamWalletBalances() throws Exception {
+
+        String[] walletIds = IntStream.range(0, 101).mapToObj(i -> UUID.randomUUID().toString()).toArray(String[]::new);
+        mockMvc.perform(get("/api/v1/wallets/balance-stream")
+                        .param("walletId", walletIds))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorTitle").value("BALANCE_STREAM_TOO_LARGE"));
+    }
+
+    @Test
+    void shouldThrowWalletNotFound_OneUnknownWallet_streamWalletBalances() throws Exception {
+
+        mockMvc.perform(get("/api/v1/wallets/balance-stream")
+                        .param("walletId", "550e8400-e29b-41d4-a716-446655440001", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,199 @@
+package com.jefferson.wallet.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.wallet.cluster.ClusterMembership;
+import com.jefferson.wallet.cluster.ClusterProps;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two members on localhost: this filter is "wallet-1" and a plain HTTP server plays the owner "wallet-2".
+ */
+class ClusterForwardingFilterTest {
+
+    private HttpServer owner;
+
+    private final AtomicReference<String> ownerReceived = new AtomicReference<>();
+
+    private ClusterProps props;
+
+    private ClusterMembership membership;
+
+    private ClusterForwardingFilter filter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/", exchange -> {
+            ownerReceived.set(exchange.getRequestMethod() + " " + exchange.getRequestURI() + " " +
+                    exchange.getRequestHeaders().getFirst(ClusterForwardingFilter.FORWARDED_BY_HEADER) + " " +
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] body = "{\"balance\":42}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+
+        props = new ClusterProps();
+        props.setEnabled(true);
+        props.setSelfId("wallet-1");
+        props.setMembers(List.of(member("wallet-1", "http://localhost:1"),
+                member("wallet-2", "http://localhost:" + owner.getAddress().getPort())));
+        meterRegistry = new SimpleMeterRegistry();
+        membership = new ClusterMembership(props, meterRegistry);
+        filter = new ClusterForwardingFilter(membership, props, new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        owner.stop(0);
+    }
+
+    @Test
+    void forwardsOperationToOwningMember() throws Exception {
+        UUID walletId = walletOwnedBy(true);
+        String body = "{\"walletId\":\"" + walletId + "\",\"operationType\":\"DEPOSIT\",\"amount\":1}";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/wallet");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"balance\":42}", response.getContentAsString());
+        assertEquals("POST /api/v1/wallet wallet-1 " + body, ownerReceived.get());
+        assertEquals(1, meterRegistry.counter("wallet.cluster.forwarded").count());
+    }
+
+    @Test
+    void processesOwnWalletLocallyWithBodyIntact() throws Exception {
+        UUID walletId = walletOwnedBy(false);
+        String body = "{\"walletId\":\"" + walletId + "\",\"operationType\":\"DEPOSIT\",\"amount\":1}";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/wallet");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertNull(ownerReceived.get());
+    }
+
+    @Test
+    void cachedBodyIsReadableThroughReadListener() throws Exception {
+        String body = "{\"walletId\":\"" + walletOwnedBy(false) + "\",\"operationType\":\"DEPOSIT\",\"amount\":1}";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/wallet");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+        });
+
+        assertTrue(allDataRead.get());
+        assertEquals(body, read.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void neverForwardsForwardedRequestAgain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/wallet/" + walletOwnedBy(true));
+        request.addHeader(ClusterForwardingFilter.FORWARDED_BY_HEADER, "wallet-2");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(ownerReceived.get());
+    }
+
+    @Test
+    void routesRequestWithForwardedByHeaderFromNonMember() throws Exception {
+        UUID walletId = walletOwnedBy(true);
+        String body = "{\"walletId\":\"" + walletId + "\",\"operationType\":\"DEPOSIT\",\"amount\":1}";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/wallet");
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader(ClusterForwardingFilter.FORWARDED_BY_HEADER, "wallet-2");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNull(chain.getRequest());
+        assertEquals("POST /api/v1/wallet wallet-1 " + body, ownerReceived.get());
+    }
+
+    @Test
+    void processesLocallyWhenOwnerIsUnreachable() throws Exception {
+        UUID walletId = walletOwnedBy(true);
+        owner.stop(0);
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/v1/wallet/" + walletId);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(1, meterRegistry.counter("wallet.cluster.forward.failures").count());
+    }
+
+    private UUID walletOwnedBy(boolean remote) {
+        while (true) {
+            UUID walletId = UUID.randomUUID();
+            if (membership.remoteOwnerUrl(walletId).isPresent() == remote) {
+                return walletId;
+            }
+        }
+    }
+
+    private static ClusterProps.Member member(String id, String url) {
+        ClusterProps.Member member = new ClusterProps.Member();
+        member.setId(id);
+        member.setUrl(url);
+        return member;
+    }
+}
@@ -0,0 +1,57 @@
+package com.jefferson.wallet.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcBulkheadFilterTest {
+
+    private JdbcBulkheadFilter filter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProps props = new BulkheadProps();
+        props.setPermits(1);
+        props.setAcquireTimeoutMs(0);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JdbcBulkheadFilter(props, null, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void rejectsRequestWhenAllPermitsAreTaken() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/wallet"), outer, (request, response) -> {
+            MockHttpServletResponse inner = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/wallet"), inner, new MockFilterChain());
+            nested.set(inner);
+        });
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested.get().getStatus());
+        assertTrue(nested.get().getContentAsString().contains("\"Error\""));
+        assertEquals(1, meterRegistry.get("wallet.bulkhead.available").gauge().value());
+    }
+
+    @Test
+    void doesNotLimitActuatorRequests() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/wallet"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                        nested, new MockFilterChain()));
+
+        assertEquals(200, nested.getStatus());
+    }
+}
@@ -0,0 +1,112 @@
+package com.jefferson.wallet.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private RequestLoggingProps props;
+
+    @BeforeEach
+    void setUp() {
+        props = new RequestLoggingProps();
+        props.setSampleRate(0);
+        props.setSlowThresholdMs(60000);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void skipsUnsampledSuccessfulRequests() throws Exception {
+        new RequestLoggingFilter(props).doFilter(new MockHttpServletRequest("POST", "/api/v1/wallet"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void alwaysLogsServerErrors() throws Exception {
+        new RequestLoggingFilter(props).doFilter(new MockHttpServletRequest("POST", "/api/v1/wallet"),
+                new MockHttpServletResponse(), (request, response) -> ((MockHttpServletResponse) response).setStatus(500));
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.ERROR, event.getLevel());
+        assertTrue(event.getKeyValuePairs().stream()
+                .anyMatch(pair -> pair.key.equals("status") && pair.value.equals(500)));
+    }
+
+    @Test
+    void alwaysLogsClientErrors() throws Exception {
+        new RequestLoggingFilter(props).doFilter(new MockHttpServletRequest("POST", "/api/v1/wallet"),
+                new MockHttpServletResponse(), (request, response) -> ((MockHttpServletResponse) response).setStatus(422));
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    void logsAsyncRequestOnCompletionWithFinalStatus() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transactions/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new RequestLoggingFilter(props).doFilter(request, response,
+                (filteredRequest, filteredResponse) -> filteredRequest.startAsync());
+        assertTrue(appender.list.isEmpty());
+
+        response.setStatus(503);
+        request.getAsyncContext().complete();
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.ERROR, event.getLevel());
+        assertTrue(event.getKeyValuePairs().stream()
+                .anyMatch(pair -> pair.key.equals("status") && pair.value.equals(503)));
+    }
+
+    @Test
+    void alwaysLogsSlowRequests() throws Exception {
+        props.setSlowThresholdMs(0);
+
+        new RequestLoggingFilter(props).doFilter(new MockHttpServletRequest("GET", "/api/v1/wallet/1"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    void logsEverySuccessfulRequestAtFullSampleRate() throws Exception {
+        props.setSampleRate(1.0);
+
+        RequestLoggingFilter filter = new RequestLoggingFilter(props);
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/wallet"),
+                    new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertEquals(3, appender.list.size());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+    }
+}
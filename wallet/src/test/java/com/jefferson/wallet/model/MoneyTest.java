@@ -0,0 +1,42 @@
+package com.jefferson.wallet.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void convertsExactlyFromAndToBigDecimal() {
+        assertEquals(100050, Money.of(new BigDecimal("1000.50")).minorUnits());
+        assertEquals(1200, Money.of(new BigDecimal("12")).minorUnits());
+        assertEquals(new BigDecimal("1000.50"), Money.of(new BigDecimal("1000.500")).toBigDecimal());
+    }
+
+    @Test
+    void rejectsMoreThanTwoDecimals() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("10.505")));
+    }
+
+    @Test
+    void checksNumericRange() {
+        Money max = Money.of(new BigDecimal("9999999999999999.99"));
+
+        assertThrows(ArithmeticException.class, () -> max.plus(new Money(1)));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("10000000000000000.00")));
+        assertThrows(ArithmeticException.class, () -> new Money(Long.MIN_VALUE));
+    }
+
+    @Test
+    void addsSubtractsAndCompares() {
+        Money balance = Money.of(new BigDecimal("500.50"));
+        Money amount = Money.of(new BigDecimal("10.50"));
+
+        assertEquals(Money.of(new BigDecimal("490.00")), balance.minus(amount));
+        assertEquals(Money.of(new BigDecimal("511.00")), balance.plus(amount));
+        assertTrue(amount.isLessThan(balance));
+        assertFalse(balance.isLessThan(balance));
+    }
+}
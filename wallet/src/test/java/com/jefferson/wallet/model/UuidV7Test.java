@@ -0,0 +1,34 @@
+package com.jefferson.wallet.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void encodesVersionVariantAndTimestamp() {
+        long now = 1_760_000_000_000L;
+
+        UUID id = UuidV7.generate(now);
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(now, UuidV7.timestampMillis(id));
+    }
+
+    @Test
+    void ordersByCreationMillisecond() {
+        UUID earlier = UuidV7.generate(1_000L);
+        UUID later = UuidV7.generate(2_000L);
+
+        assertTrue(earlier.toString().compareTo(later.toString()) < 0);
+    }
+
+    @Test
+    void hasNoTimestampForRandomIds() {
+        assertEquals(-1, UuidV7.timestampMillis(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.jefferson.wallet.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceCacheTest {
+
+    @Test
+    void keepsNewerVersionWhenStaleValueArrivesLate() {
+        BalanceCache cache = new BalanceCache(new BalanceCacheProps());
+        UUID walletId = UUID.randomUUID();
+
+        cache.put(walletId, new BigDecimal("20.00"), 3);
+        cache.put(walletId, new BigDecimal("10.00"), 2);
+
+        assertEquals(new BigDecimal("20.00"), cache.get(walletId).orElseThrow().balance());
+        assertEquals(1, cache.stats().orElseThrow().hitCount());
+    }
+
+    @Test
+    void deletedWalletIsNotResurrectedByOlderRead() {
+        BalanceCache cache = new BalanceCache(new BalanceCacheProps());
+        UUID walletId = UUID.randomUUID();
+
+        cache.markDeleted(walletId, 5);
+        cache.put(walletId, new BigDecimal("10.00"), 4);
+
+        assertFalse(cache.get(walletId).orElseThrow().active());
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        BalanceCacheProps props = new BalanceCacheProps();
+        props.setEnabled(false);
+        BalanceCache cache = new BalanceCache(props);
+        UUID walletId = UUID.randomUUID();
+
+        cache.put(walletId, BigDecimal.ONE, 1);
+
+        assertTrue(cache.get(walletId).isEmpty());
+        assertTrue(cache.stats().isEmpty());
+    }
+}
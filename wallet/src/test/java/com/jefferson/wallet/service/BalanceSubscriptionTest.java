@@ -0,0 +1,72 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceSubscriptionTest {
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<SseEventBuilder> sent = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder);
+        }
+    }
+
+    private final UUID walletId = UUID.randomUUID();
+
+    @Test
+    void skipsVersionsAlreadySent() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        BalanceSubscription subscription = new BalanceSubscription(Set.of(walletId), emitter, 8, Runnable::run);
+
+        assertTrue(subscription.offer(BalanceDto.buildBalanceDto(walletId, new BigDecimal("10.00"), 3)));
+        assertTrue(subscription.offer(BalanceDto.buildBalanceDto(walletId, new BigDecimal("5.00"), 2)));
+        assertTrue(subscription.offer(BalanceDto.buildBalanceDto(walletId, new BigDecimal("10.00"), 3)));
+        assertTrue(subscription.offer(BalanceDto.buildBalanceDto(walletId, new BigDecimal("12.50"), 4)));
+
+        assertEquals(2, emitter.sent.size());
+    }
+
+    @Test
+    void rejectsOfferWhenBufferIsFull() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        List<Runnable> stalledSends = new ArrayList<>();
+        BalanceSubscription subscription = new BalanceSubscription(Set.of(walletId), emitter, 2, stalledSends::add);
+
+        assertTrue(subscription.offer(BalanceDto.buildBalanceDto(walletId, BigDecimal.ONE, 1)));
+        assertTrue(subscription.offer(BalanceDto.buildBalanceDto(walletId, BigDecimal.valueOf(2), 2)));
+        assertFalse(subscription.offer(BalanceDto.buildBalanceDto(walletId, BigDecimal.TEN, 3)));
+        assertFalse(subscription.offerHeartbeat());
+
+        assertEquals(1, stalledSends.size());
+        assertTrue(emitter.sent.isEmpty());
+    }
+
+    @Test
+    void packsChangesBelowNotifyPayloadLimit() {
+        List<String> changes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            changes.add(UUID.randomUUID() + ",1000000.00," + i);
+        }
+
+        String[] payloads = BalanceChangePublisher.pack(changes);
+
+        assertTrue(payloads.length > 1);
+        for (String payload : payloads) {
+            assertTrue(payload.length() < 8000);
+        }
+        assertEquals(changes, List.of(String.join("\n", payloads).split("\n")));
+    }
+}
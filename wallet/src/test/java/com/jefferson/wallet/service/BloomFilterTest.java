@@ -0,0 +1,51 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.model.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAddedIdsAsMissing() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, Long.MAX_VALUE);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UuidV7.generate();
+            ids.add(id);
+            filter.put(id);
+        }
+
+        assertTrue(ids.stream().allMatch(filter::mightContain));
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, Long.MAX_VALUE);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UuidV7.generate());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void capsSizeAtMemoryBudget() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.001, 8 * 1024);
+
+        assertEquals(8 * 1024, filter.bitCount());
+        assertTrue(filter.falsePositiveRate(1_000_000) > 0.001);
+    }
+}
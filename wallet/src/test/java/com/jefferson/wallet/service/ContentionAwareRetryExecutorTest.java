@@ -0,0 +1,91 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.exceptions.TransactionRetryExhaustedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentionAwareRetryExecutorTest {
+
+    private PaymentServiceProps props;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ContentionAwareRetryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        props = new PaymentServiceProps();
+        props.setMaxRetry(5);
+        props.setRetryBackoffBaseMs(0);
+        props.setPessimisticThreshold(3);
+        props.setPessimisticHoldMs(60000);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ContentionAwareRetryExecutor(props, new PaymentMetrics(meterRegistry));
+    }
+
+    @Test
+    void retriesConflictsUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute(UUID.randomUUID(), pessimistic -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Wallet", UUID.randomUUID());
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void throwsWhenMaxRetryExceeded() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(TransactionRetryExhaustedException.class, () -> executor.execute(UUID.randomUUID(), pessimistic -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Wallet", UUID.randomUUID());
+        }));
+        assertEquals(props.getMaxRetry() + 1, attempts.get());
+        assertEquals(props.getMaxRetry() + 1, meterRegistry.counter("wallet.transaction.conflicts").count());
+        assertEquals(1, meterRegistry.counter("wallet.transaction.retries.exhausted").count());
+    }
+
+    @Test
+    void switchesHotWalletToPessimisticPath() {
+        UUID walletId = UUID.randomUUID();
+        List<Boolean> modes = new ArrayList<>();
+
+        executor.execute(walletId, pessimistic -> {
+            modes.add(pessimistic);
+            if (modes.size() <= 3) {
+                throw new ObjectOptimisticLockingFailureException("Wallet", walletId);
+            }
+            return null;
+        });
+
+        assertEquals(List.of(false, false, false, true), modes);
+        assertTrue(executor.isPessimistic(walletId));
+        assertEquals(1, meterRegistry.counter("wallet.transaction.pessimistic.switches").count());
+    }
+
+    @Test
+    void doesNotRetryBusinessExceptions() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute(UUID.randomUUID(), pessimistic -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("business failure");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,56 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.repository.StoredIdempotencyKey;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyIndexTest {
+
+    private final UUID walletId = UUID.randomUUID();
+
+    private final BalanceDto balance = BalanceDto.buildBalanceDto(walletId, new BigDecimal("15.00"));
+
+    @Test
+    void replaysSameRequest() {
+        IdempotencyIndex index = new IdempotencyIndex(new IdempotencyProps());
+        index.remember(request(walletId, OperationType.DEPOSIT, "5.00"), balance);
+
+        TransactionOutcome replay = index.find(request(walletId, OperationType.DEPOSIT, "5")).orElseThrow();
+
+        assertSame(balance, replay.getOrThrow());
+    }
+
+    @Test
+    void rejectsKeyReusedForDifferentOperation() {
+        IdempotencyIndex index = new IdempotencyIndex(new IdempotencyProps());
+        index.remember(request(walletId, OperationType.DEPOSIT, "5.00"), balance);
+
+        assertInstanceOf(TransactionOutcome.IdempotencyKeyReused.class,
+                index.find(request(walletId, OperationType.DEPOSIT, "6.00")).orElseThrow());
+        assertInstanceOf(TransactionOutcome.IdempotencyKeyReused.class,
+                index.find(request(walletId, OperationType.WITHDRAW, "5.00")).orElseThrow());
+        assertInstanceOf(TransactionOutcome.IdempotencyKeyReused.class,
+                index.find(request(UUID.randomUUID(), OperationType.DEPOSIT, "5.00")).orElseThrow());
+    }
+
+    @Test
+    void checksOnlyWalletOfKeysStoredWithoutOperation() {
+        StoredIdempotencyKey legacy = new StoredIdempotencyKey(walletId, null, null, balance);
+
+        assertInstanceOf(TransactionOutcome.Applied.class,
+                IdempotencyIndex.replay(legacy, request(walletId, OperationType.WITHDRAW, "1.00")));
+        assertInstanceOf(TransactionOutcome.IdempotencyKeyReused.class,
+                IdempotencyIndex.replay(legacy, request(UUID.randomUUID(), OperationType.WITHDRAW, "1.00")));
+    }
+
+    private static TransactionRequest request(UUID walletId, OperationType operationType, String amount) {
+        return TransactionRequest.buildTransactionRequest(walletId, operationType, new BigDecimal(amount), "key-1");
+    }
+}
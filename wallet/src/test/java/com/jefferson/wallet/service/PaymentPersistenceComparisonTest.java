@@ -0,0 +1,174 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.controllers.TestContainersBase;
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.enums.PersistenceStrategy;
+import com.jefferson.wallet.exceptions.InsufficientFundsException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Sql(scripts = "/test-data.sql")
+public class PaymentPersistenceComparisonTest extends TestContainersBase {
+
+    private static final UUID FIRST_WALLET = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    private static final UUID SECOND_WALLET = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    private static final UUID INACTIVE_WALLET = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentServiceProps props;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void resetStrategy() {
+        props.setPersistence(PersistenceStrategy.JPA);
+    }
+
+    @Test
+    void bothStrategiesProduceSameBalancesAndLedger() {
+
+        List<TransactionRequest> scenario = List.of(
+                TransactionRequest.buildTransactionRequest(FIRST_WALLET, OperationType.DEPOSIT, new BigDecimal("10.25")),
+                TransactionRequest.buildTransactionRequest(FIRST_WALLET, OperationType.WITHDRAW, new BigDecimal("500.00")),
+                TransactionRequest.buildTransactionRequest(FIRST_WALLET, OperationType.WITHDRAW, new BigDecimal("5000.00")),
+                TransactionRequest.buildTransactionRequest(INACTIVE_WALLET, OperationType.DEPOSIT, new BigDecimal("1.00")));
+
+        props.setPersistence(PersistenceStrategy.JPA);
+        List<String> jpaResults = runScenario(scenario);
+        BigDecimal jpaBalance = balanceOf(FIRST_WALLET);
+        long jpaLedgerRows = ledgerRows(FIRST_WALLET);
+
+        jdbcTemplate.update("UPDATE wallets SET balance = 1000.00 WHERE id = ?", FIRST_WALLET);
+        jdbcTemplate.update("DELETE FROM transactions WHERE wallet_id = ? AND created_at > '2023-01-02'", FIRST_WALLET);
+
+        props.setPersistence(PersistenceStrategy.ATOMIC_SQL);
+        List<String> atomicResults = runScenario(scenario);
+
+        assertEquals(jpaResults, atomicResults);
+        assertEquals(0, jpaBalance.compareTo(balanceOf(FIRST_WALLET)));
+        assertEquals(jpaLedgerRows, ledgerRows(FIRST_WALLET));
+    }
+
+    @Test
+    void atomicStrategyNeverOverdrawsUnderConcurrentWithdrawals() throws Exception {
+
+        props.setPersistence(PersistenceStrategy.ATOMIC_SQL);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    paymentService.processTransaction(TransactionRequest.buildTransactionRequest(
+                            FIRST_WALLET, OperationType.WITHDRAW, new BigDecimal("100.00")));
+                    succeeded.incrementAndGet();
+                } catch (InsufficientFundsException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(10, succeeded.get());
+        assertEquals(54, rejected.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(FIRST_WALLET)));
+    }
+
+    @Test
+    void bothStrategiesWriteSameRowsForKeyedOperations() {
+
+        // test-data.sql leaves idempotency keys alone
+        jdbcTemplate.update("DELETE FROM transaction_idempotency_keys WHERE wallet_id = ?", SECOND_WALLET);
+
+        props.setPersistence(PersistenceStrategy.JPA);
+        List<String> jpaResults = runScenario(keyedScenario("jpa-" + UUID.randomUUID()));
+        BigDecimal jpaBalance = balanceOf(SECOND_WALLET);
+        long jpaLedgerRows = ledgerRows(SECOND_WALLET);
+        long jpaKeyRows = idempotencyRows(SECOND_WALLET);
+
+        jdbcTemplate.update("UPDATE wallets SET balance = 500.50 WHERE id = ?", SECOND_WALLET);
+        jdbcTemplate.update("DELETE FROM transactions WHERE wallet_id = ? AND created_at > '2023-01-03'", SECOND_WALLET);
+        jdbcTemplate.update("DELETE FROM transaction_idempotency_keys WHERE wallet_id = ?", SECOND_WALLET);
+
+        props.setPersistence(PersistenceStrategy.ATOMIC_SQL);
+        List<String> atomicResults = runScenario(keyedScenario("atomic-" + UUID.randomUUID()));
+
+        assertEquals(jpaResults, atomicResults);
+        assertEquals(0, new BigDecimal("550.50").compareTo(jpaBalance));
+        assertEquals(0, jpaBalance.compareTo(balanceOf(SECOND_WALLET)));
+        assertEquals(4, jpaLedgerRows);
+        assertEquals(jpaLedgerRows, ledgerRows(SECOND_WALLET));
+        assertEquals(2, jpaKeyRows);
+        assertEquals(jpaKeyRows, idempotencyRows(SECOND_WALLET));
+    }
+
+    /**
+     * Every run gets its own key prefix, so the second run isn't answered from the in-memory index of the first.
+     */
+    private static List<TransactionRequest> keyedScenario(String keyPrefix) {
+        TransactionRequest deposit = TransactionRequest.buildTransactionRequest(
+                SECOND_WALLET, OperationType.DEPOSIT, new BigDecimal("100.00"), keyPrefix + "-1");
+        return List.of(
+                deposit,
+                TransactionRequest.buildTransactionRequest(
+                        SECOND_WALLET, OperationType.WITHDRAW, new BigDecimal("51.00"), keyPrefix + "-2"),
+                deposit,
+                TransactionRequest.buildTransactionRequest(
+                        SECOND_WALLET, OperationType.WITHDRAW, new BigDecimal("10000.00"), keyPrefix + "-3"),
+                TransactionRequest.buildTransactionRequest(SECOND_WALLET, OperationType.DEPOSIT, new BigDecimal("1.00")));
+    }
+
+    private List<String> runScenario(List<TransactionRequest> scenario) {
+        List<String> results = new ArrayList<>();
+        for (TransactionRequest request : scenario) {
+            try {
+                BalanceDto balanceDto = paymentService.processTransaction(request);
+                results.add(balanceDto.balance().setScale(2).toPlainString());
+            } catch (InsufficientFundsException | WalletNotFoundException e) {
+                results.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    private BigDecimal balanceOf(UUID walletId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM wallets WHERE id = ?", BigDecimal.class, walletId);
+    }
+
+    private long ledgerRows(UUID walletId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE wallet_id = ?", Long.class, walletId);
+    }
+
+    private long idempotencyRows(UUID walletId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM transaction_idempotency_keys WHERE wallet_id = ?",
+                Long.class, walletId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.dto.TransactionRequest;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.exceptions.PaymentEngineOverloadedException;
+import com.jefferson.wallet.exceptions.TransactionOutcomeUnknownException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedPaymentServiceImplTest {
+
+    @Test
+    void timedOutQueuedOperationIsNeverApplied() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger applied = new AtomicInteger();
+        PaymentEngineProps props = new PaymentEngineProps();
+        props.setLanes(1);
+        props.setLaneTimeoutMs(100);
+        ShardedPaymentServiceImpl service = new ShardedPaymentServiceImpl(request -> {
+            applied.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new TransactionOutcome.Applied(BalanceDto.buildBalanceDto(request.walletId(), BigDecimal.ONE));
+        }, props);
+
+        // the first operation occupies the lane, the second waits behind it
+        assertThrows(TransactionOutcomeUnknownException.class, () -> service.process(deposit()));
+        assertThrows(PaymentEngineOverloadedException.class, () -> service.process(deposit()));
+
+        release.countDown();
+        service.shutdown();
+        assertEquals(1, applied.get());
+    }
+
+    private static TransactionRequest deposit() {
+        return TransactionRequest.buildTransactionRequest(UUID.randomUUID(), OperationType.DEPOSIT, BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,45 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.dto.BalanceDto;
+import com.jefferson.wallet.enums.OperationType;
+import com.jefferson.wallet.exceptions.InsufficientFundsException;
+import com.jefferson.wallet.exceptions.WalletNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionOutcomeTest {
+
+    private final UUID walletId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Test
+    void appliedReturnsBalance() {
+        BalanceDto balance = BalanceDto.buildBalanceDto(walletId, new BigDecimal("10.00"));
+
+        assertSame(balance, new TransactionOutcome.Applied(balance).getOrThrow());
+    }
+
+    @Test
+    void insufficientFundsKeepsResponseMessage() {
+        TransactionOutcome.InsufficientFunds outcome =
+                new TransactionOutcome.InsufficientFunds(walletId, new BigDecimal("200.50"), OperationType.WITHDRAW);
+
+        assertEquals("Insufficient funds for wallet with id: 11111111-1111-1111-1111-111111111111" +
+                ". Transaction amount: 200.50. Transaction type: WITHDRAW", outcome.message());
+        InsufficientFundsException exception = assertThrows(InsufficientFundsException.class, outcome::getOrThrow);
+        assertEquals(outcome.message(), exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void walletNotFoundKeepsResponseMessage() {
+        TransactionOutcome.WalletNotFound outcome = new TransactionOutcome.WalletNotFound(walletId);
+
+        WalletNotFoundException exception = assertThrows(WalletNotFoundException.class, outcome::getOrThrow);
+        assertEquals("Wallet not found for id: " + walletId, exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+}
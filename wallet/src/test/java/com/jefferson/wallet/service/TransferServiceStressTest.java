@@ -0,0 +1,80 @@
+package com.jefferson.wallet.service;
+
+import com.jefferson.wallet.controllers.TestContainersBase;
+import com.jefferson.wallet.dto.TransferRequest;
+import com.jefferson.wallet.exceptions.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Sql(scripts = "/test-data.sql")
+public class TransferServiceStressTest extends TestContainersBase {
+
+    private static final UUID FIRST_WALLET = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    private static final UUID SECOND_WALLET = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void oppositeDirectionTransfersOnTwoHotWalletsNeverDeadlock() throws Exception {
+
+        int threads = 32;
+        int transfersPerThread = 50;
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        BigDecimal totalBefore = totalBalance();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            boolean forward = t % 2 == 0;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < transfersPerThread; i++) {
+                    try {
+                        transferService.transfer(TransferRequest.buildTransferRequest(
+                                forward ? FIRST_WALLET : SECOND_WALLET,
+                                forward ? SECOND_WALLET : FIRST_WALLET,
+                                new BigDecimal("7.25")));
+                        succeeded.incrementAndGet();
+                    } catch (InsufficientFundsException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * transfersPerThread, succeeded.get() + rejected.get());
+        assertEquals(0, totalBefore.compareTo(totalBalance()));
+        assertEquals(2L * succeeded.get(), jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transactions WHERE transfer_id IS NOT NULL", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM (SELECT transfer_id FROM transactions WHERE transfer_id IS NOT NULL " +
+                        "GROUP BY transfer_id HAVING count(*) <> 2) unpaired", Long.class));
+    }
+
+    private BigDecimal totalBalance() {
+        return jdbcTemplate.queryForObject("SELECT sum(balance) FROM wallets WHERE id IN (?, ?)",
+                BigDecimal.class, FIRST_WALLET, SECOND_WALLET);
+    }
+}